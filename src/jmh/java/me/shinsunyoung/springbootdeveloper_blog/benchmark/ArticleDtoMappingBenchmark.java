@@ -0,0 +1,43 @@
+package me.shinsunyoung.springbootdeveloper_blog.benchmark;
+
+import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleListViewResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+엔티티 -> 응답 DTO 변환 비용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArticleDtoMappingBenchmark {
+
+    private Article article;
+
+    @Setup
+    public void setUp() {
+        article = Article.builder()
+                .title("벤치마크 제목")
+                .content("벤치마크 본문 ".repeat(100))
+                .build();
+    }
+
+    @Benchmark
+    public ArticleResponse toArticleResponse() {
+        return new ArticleResponse(article);
+    }
+
+    @Benchmark
+    public ArticleListViewResponse toArticleListViewResponse() {
+        return new ArticleListViewResponse(article);
+    }
+}
@@ -0,0 +1,76 @@
+package me.shinsunyoung.springbootdeveloper_blog.benchmark;
+
+import me.shinsunyoung.springbootdeveloper_blog.domain.CompressedStringConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+본문 압축(CompressedStringConverter) 비용과 압축률.
+- encode: 글 저장(save, update) 때 본문 한 건을 DB 값으로 바꾸는 비용.
+- decode: 글 상세 조회(findById) 때 DB 값을 본문으로 바꾸는 비용. (상세 조회는 캐시되므로 캐시 미스에서만 발생)
+- codec=raw는 압축하지 않는 경우(threshold 무한대)로, 표시 바이트만 붙이는 기준값이다.
+압축률은 설정마다 한 번 출력한다. ([compression] ...)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContentCompressionBenchmark {
+
+    // 본문 길이(글자 수)
+    @Param({"500", "5000", "50000"})
+    private int length;
+
+    @Param({"raw", "deflate"})
+    private String codec;
+
+    private CompressedStringConverter converter;
+    private String content;
+    private byte[] stored;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        converter = "raw".equals(codec)
+                ? new CompressedStringConverter(Integer.MAX_VALUE)
+                : new CompressedStringConverter();
+        content = markdown(length);
+        stored = converter.convertToDatabaseColumn(content);
+
+        int utf8 = content.getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("%n[compression] codec=%s length=%d: %,d -> %,d bytes (%.1f%%)%n",
+                codec, length, utf8, stored.length, 100.0 * stored.length / utf8);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return converter.convertToDatabaseColumn(content);
+    }
+
+    @Benchmark
+    public String decode() {
+        return converter.convertToEntityAttribute(stored);
+    }
+
+    // 제목, 목록, 코드 블록이 반복되는 마크다운 글. 문단마다 숫자를 달리해 완전히 같은 줄만 반복되지는 않게 한다.
+    private String markdown(int length) {
+        StringBuilder text = new StringBuilder(length + 200);
+        for (int section = 1; text.length() < length; section++) {
+            text.append("## ").append(section).append(". 스프링 부트 블로그 만들기\n\n")
+                    .append("이번 절에서는 JPA 엔티티와 리포지토리를 만들고, 서비스 계층에서 트랜잭션을 다룹니다. ")
+                    .append("예제 코드는 ").append(section * 7).append("번째 커밋을 기준으로 합니다.\n\n")
+                    .append("- 엔티티: `Article`, `User`\n- 리포지토리: `BlogRepository`\n- 서비스: `BlogService`\n\n")
+                    .append("```java\n@Transactional\npublic Article update(Long id, UpdateArticleRequest request) {\n")
+                    .append("    return blogRepository.findById(id).orElseThrow();\n}\n```\n\n");
+        }
+        return text.substring(0, length);
+    }
+}
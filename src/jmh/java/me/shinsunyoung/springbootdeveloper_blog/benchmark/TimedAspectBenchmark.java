@@ -0,0 +1,70 @@
+package me.shinsunyoung.springbootdeveloper_blog.benchmark;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+@Timed(TimedAspect)가 메서드 호출 한 번에 더하는 비용. BlogService, UserService.save에 붙인 것과 같은 방식이다.
+- direct: 프록시 없이 직접 호출 (기준)
+- proxied: 프록시만 거침 (@Transactional, @Cacheable 등이 이미 붙어 있는 서비스가 원래 내던 비용)
+- timed: 프록시 + TimedAspect + Prometheus 레지스트리 기록
+timed - proxied가 지표 때문에 늘어난 비용이다. DB를 조회하는 서비스 메서드 실행 시간에 비하면 무시할 만한 수준인지 확인하는 용도.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimedAspectBenchmark {
+
+    private Service direct;
+    private Service proxied;
+    private Service timed;
+
+    @Setup
+    public void setUp() {
+        direct = new Service();
+
+        AspectJProxyFactory plainFactory = new AspectJProxyFactory(new Service());
+        plainFactory.setProxyTargetClass(true);
+        proxied = plainFactory.getProxy();
+
+        AspectJProxyFactory timedFactory = new AspectJProxyFactory(new Service());
+        timedFactory.setProxyTargetClass(true);
+        timedFactory.addAspect(new TimedAspect(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)));
+        timed = timedFactory.getProxy();
+    }
+
+    @Benchmark
+    public long direct() {
+        return direct.work(42);
+    }
+
+    @Benchmark
+    public long proxied() {
+        return proxied.work(42);
+    }
+
+    @Benchmark
+    public long timed() {
+        return timed.work(42);
+    }
+
+    @Timed("benchmark.service")
+    public static class Service {
+
+        public long work(long value) {
+            return value * 31 + 7;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package me.shinsunyoung.springbootdeveloper_blog.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.JwtProperties;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.TokenProvider;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.VerifiedClaimsCache;
+import me.shinsunyoung.springbootdeveloper_blog.domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/*
+TokenProvider 인증 경로 벤치마크. 요청 스레드 여러 개가 동시에 호출하는 상황을 재현하기 위해 4개 스레드로 측정.
+- generateToken: 토큰 생성 + HS256 서명
+- validToken: 같은 토큰 반복 검증 (VerifiedClaimsCache 적중 경로)
+- getAutentication: 매번 파싱 + 서명 검증 + 인증 객체 생성 (캐시를 거치지 않는 경로)
+registry로 검증 횟수 지표(jwt.verifications)의 비용을 비교한다. noop: 등록된 레지스트리가 없어 카운터가 아무 일도 하지 않음.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class TokenProviderBenchmark {
+
+    @Param({"noop", "prometheus"})
+    private String registry;
+
+    private TokenProvider tokenProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setIssuer("benchmark@email.com");
+        jwtProperties.setSecretKey("study-springboot");
+
+        MeterRegistry meterRegistry = "prometheus".equals(registry)
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new CompositeMeterRegistry();
+        tokenProvider = new TokenProvider(jwtProperties, new VerifiedClaimsCache(), meterRegistry);
+        user = User.builder().email("user@gmail.com").password("password").build();
+        token = tokenProvider.generateToken(user, Duration.ofDays(1));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(user, Duration.ofHours(1));
+    }
+
+    @Benchmark
+    public boolean validToken() {
+        return tokenProvider.validToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAutentication() {
+        return tokenProvider.getAutentication(token);
+    }
+}
@@ -3,7 +3,9 @@ package me.shinsunyoung.springbootdeveloper_blog;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling // 만료 리프레시 토큰 정리(RefreshTokenService.deleteExpired) 등 주기 작업
 @EnableJpaAuditing
 @SpringBootApplication
 public class SpringBootDeveloperBlogApplication {
@@ -0,0 +1,66 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import me.shinsunyoung.springbootdeveloper_blog.dto.RenderedPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+/*
+스프링 캐시 추상화(@Cacheable, @CacheEvict) 활성화. 실제 캐시 구현과 크기/만료 설정은 application.yml의 spring.cache 항목.
+
+order를 가장 높게 두어 캐시 어드바이스가 트랜잭션 어드바이스 "바깥"에서 동작하게 한다.
+그래야 @Transactional 메서드의 @CacheEvict가 커밋이 끝난 뒤에 실행되어,
+커밋 전에 캐시를 비웠다가 다른 요청이 이전 값을 다시 캐시에 올리는 일이 생기지 않는다.
+ */
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@Configuration
+public class CacheConfig {
+
+    // 글 상세 캐시. key: 글 id, value: ArticleDetailResponse (불변 스냅샷)
+    public static final String ARTICLES = "articles";
+    // 글 상세 화면 HTML 캐시. key: 글 id, value: RenderedPage (version: 글 ETag)
+    public static final String ARTICLE_PAGES = "articlePages";
+    // 글 목록 화면 HTML 캐시. key: 커서(첫 페이지는 ""), value: RenderedPage (version: 목록 버전)
+    public static final String ARTICLE_LIST_PAGES = "articleListPages";
+    // 마크다운 본문 HTML 캐시. key: 본문 해시(Article.contentHash), value: 렌더링된 HTML (String)
+    public static final String RENDERED_MARKDOWN = "renderedMarkdown";
+
+    /*
+    화면 캐시는 글 수가 아니라 HTML 크기(바이트)로 제한해야 하므로, spring.cache.caffeine.spec 대신 캐시별로 따로 만든다.
+    캐시마다 최대 page-cache.max-size까지 저장하고, 넘으면 오래 쓰이지 않은 페이지부터 제거.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> renderedPageCacheCustomizer(
+            @Value("${page-cache.max-size:16MB}") DataSize maxSize) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(ARTICLE_PAGES, renderedPageCache(maxSize));
+            cacheManager.registerCustomCache(ARTICLE_LIST_PAGES, renderedPageCache(maxSize));
+        };
+    }
+
+    // 본문 HTML 캐시도 글 수가 아니라 크기로 제한한다. 무게는 HTML 글자 수 * 2(바이트)로 어림한다.
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> renderedMarkdownCacheCustomizer(
+            @Value("${markdown-cache.max-size:8MB}") DataSize maxSize) {
+        return cacheManager -> cacheManager.registerCustomCache(RENDERED_MARKDOWN, Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Object key, Object html) -> ((String) html).length() * 2)
+                .recordStats()
+                .build());
+    }
+
+    private static Cache<Object, Object> renderedPageCache(DataSize maxSize) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Object key, Object page) -> ((RenderedPage) page).weight())
+                .recordStats()
+                .build();
+    }
+}
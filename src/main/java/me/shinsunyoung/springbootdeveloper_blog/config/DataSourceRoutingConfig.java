@@ -0,0 +1,80 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+복제본이 하나 이상 설정된 경우에만 적용. (datasource-routing.replicas)
+설정이 없으면 스프링 부트가 spring.datasource로 만드는 데이터소스를 그대로 쓴다.
+
+원본과 복제본은 각자 커넥션 풀(Hikari)을 가진다.
+복제본은 원본보다 늦게 반영될 수 있으므로(복제 지연), 방금 쓴 값을 바로 읽어야 하는 조회는 @ReadFromPrimary를 붙여 원본에서 읽는다.
+스프링 데이터 리포지토리의 조회 메서드도 기본이 읽기 전용 트랜잭션이므로, 서비스 트랜잭션 밖에서 호출하면 복제본으로 간다.
+(토큰 폐기 목록처럼 지연이 있으면 안 되는 조회는 TokenRevocationService처럼 읽기 전용이 아닌 트랜잭션 안에서 호출한다)
+ */
+@Configuration
+@ConditionalOnProperty("datasource-routing.replicas[0].url")
+public class DataSourceRoutingConfig {
+
+    // 원본 풀. spring.datasource(url, username 등)와 spring.datasource.hikari 설정을 그대로 쓴다.
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary"); // 풀 지표(hikaricp.*)는 빈으로 등록된 풀이므로 스프링 부트가 연결한다.
+        return dataSource;
+    }
+
+    // 복제본 풀을 만들고 읽기 전용 트랜잭션을 복제본으로 보낸다. 빈 종료 시 close()로 복제본 풀을 닫는다.
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceRoutingProperties properties,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            // 기동 시 복제본에 연결하지 않는다. 복제본이 내려가 있어도 애플리케이션은 뜨고, 읽기는 원본으로 대체된다.
+            dataSource.setInitializationFailTimeout(-1);
+            // 빈이 아니므로 풀 지표를 직접 연결한다.
+            meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+            replicas.add(dataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getRetryInterval());
+    }
+
+    // @ReadFromPrimary 처리. 복제본이 없으면 모든 조회가 원본으로 가므로 이 설정이 적용될 때만 등록한다.
+    @Bean
+    public ReadFromPrimaryAspect readFromPrimaryAspect() {
+        return new ReadFromPrimaryAspect();
+    }
+
+    /*
+    애플리케이션 전체(JPA, data.sql 초기화 등)가 쓰는 데이터소스.
+    LazyConnectionDataSourceProxy: 트랜잭션을 시작할 때가 아니라 첫 SQL을 실행할 때 커넥션을 얻으므로,
+    그 시점에는 readOnly 여부가 정해져 있어 ReplicaRoutingDataSource가 원본/복제본을 고를 수 있다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,30 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("datasource-routing") // application.yml의 datasource-routing 항목
+public class DataSourceRoutingProperties {
+    // 읽기 전용 트랜잭션이 사용할 복제본 목록. 비어 있으면 모든 요청이 spring.datasource(원본)를 쓴다.
+    private List<Replica> replicas = new ArrayList<>();
+    // 커넥션을 얻지 못한 복제본을 다시 시도하기까지의 시간. 그동안은 다른 복제본이나 원본에서 읽는다.
+    private Duration retryInterval = Duration.ofSeconds(30);
+
+    @Setter
+    @Getter
+    public static class Replica {
+        private String url;
+        private String username = "sa";
+        private String password = "";
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,20 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+@Timed 처리(BlogService 클래스 전체, UserService.save).
+스프링 부트 3.2의 자동 설정은 micrometer.observations.annotations.enabled(3.3부터 management.observations.*)를 켜야 TimedAspect를 등록하므로,
+설정 키 이름에 상관없이 동작하도록 직접 등록한다. 이 빈이 있으면 자동 설정은 TimedAspect를 따로 만들지 않는다.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
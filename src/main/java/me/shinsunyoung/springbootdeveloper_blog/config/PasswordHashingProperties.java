@@ -0,0 +1,21 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("password-hashing") // application.yml의 password-hashing 항목 아래에 있는 설정 값을 매핑
+public class PasswordHashingProperties {
+    // BCrypt 강도(log2 반복 횟수). 올리면 다음 로그인 때 기존 해시가 새 강도로 다시 저장된다.
+    private int strength = 10;
+    // 해시 계산 전용 스레드 수. 나머지 CPU는 글 조회 등 다른 요청이 쓴다.
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    // 스레드가 모두 바쁠 때 대기할 수 있는 최대 요청 수. 넘으면 바로 거절(503).
+    private int queueCapacity = 64;
+    // 거절 응답의 Retry-After(초)
+    private int retryAfterSeconds = 1;
+}
@@ -0,0 +1,15 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/*
+해시 계산 스레드와 대기열이 모두 차서 비밀번호 해시 요청을 거절했을 때 발생.
+로그인 중에 발생하면 인증 실패 핸들러에서, 회원 가입 중에 발생하면 컨트롤러에서 503(Retry-After)으로 응답한다.
+인증 필터가 처리할 수 있도록 AuthenticationException 계열로 둔다.
+ */
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+    public PasswordHashingRejectedException(String msg) {
+        super(msg);
+    }
+}
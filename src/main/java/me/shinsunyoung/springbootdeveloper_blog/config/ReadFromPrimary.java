@@ -0,0 +1,17 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+읽기 전용 트랜잭션(@Transactional(readOnly = true))이어도 복제본이 아닌 원본에서 읽는다. (ReplicaRoutingDataSource)
+읽기 전용은 그대로이므로 Hibernate는 조회한 엔티티의 스냅샷을 만들지 않고 flush도 하지 않는다.
+방금 쓴 값을 바로 읽어야 해서 복제 지연이 있으면 안 되는 조회에 붙인다.
+이미 복제본 커넥션을 얻은 트랜잭션 안에서 호출되면 그 커넥션을 그대로 쓴다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
@@ -0,0 +1,27 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/*
+@ReadFromPrimary 메서드를 실행하는 동안 ReplicaRoutingDataSource가 원본을 고르도록 표시한다.
+트랜잭션(@Transactional)보다 바깥에서 감싸, 트랜잭션이 커넥션을 얻는 시점에는 항상 표시가 되어 있게 한다.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadFromPrimaryAspect {
+
+    @Around("@annotation(me.shinsunyoung.springbootdeveloper_blog.config.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReplicaRoutingDataSource.isReadFromPrimary();
+        ReplicaRoutingDataSource.setReadFromPrimary(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.setReadFromPrimary(previous);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+읽기 전용 트랜잭션(@Transactional(readOnly = true))은 복제본(replica)으로, 그 외에는 원본(primary)으로 커넥션을 얻는다.
+- 복제본이 여러 개면 돌아가며(round-robin) 쓴다.
+- 커넥션을 얻지 못한 복제본은 retryInterval 동안 건너뛰고 다음 복제본을 시도한다. 모두 안 되면 원본을 쓴다.
+- @ReadFromPrimary 메서드를 실행하는 중이면 읽기 전용 트랜잭션이어도 원본을 쓴다. (복제 지연이 있으면 안 되는 조회)
+트랜잭션 시작 시점에는 아직 readOnly 여부가 설정되지 않으므로, 반드시 LazyConnectionDataSourceProxy로 감싸서
+첫 SQL을 실행할 때 커넥션을 얻도록 해야 한다. (DataSourceRoutingConfig)
+close()는 복제본 풀만 닫는다. 원본은 따로 등록된 빈이므로 스프링이 닫는다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long retryIntervalNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    // @ReadFromPrimary 메서드를 실행하는 동안 true. (ReadFromPrimaryAspect)
+    private static final ThreadLocal<Boolean> READ_FROM_PRIMARY = new ThreadLocal<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration retryInterval) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.retryIntervalNanos = retryInterval.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || isReadFromPrimary()) {
+            return primary.getConnection();
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            long now = System.nanoTime();
+            if (replica.isDown(now)) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.markDown(now + retryIntervalNanos);
+                log.warn("replica {} is unavailable, skipping it for {} ms", (start + i) % replicas.size(),
+                        retryIntervalNanos / 1_000_000, e);
+            }
+        }
+        return primary.getConnection(); // 사용할 수 있는 복제본이 없으면 원본에서 읽는다.
+    }
+
+    // 계정을 지정한 커넥션은 복제본으로 나누지 않고 항상 원본에서 얻는다.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    static boolean isReadFromPrimary() {
+        return Boolean.TRUE.equals(READ_FROM_PRIMARY.get());
+    }
+
+    static void setReadFromPrimary(boolean readFromPrimary) {
+        if (readFromPrimary) {
+            READ_FROM_PRIMARY.set(Boolean.TRUE);
+        } else {
+            READ_FROM_PRIMARY.remove();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static class Replica {
+
+        private final DataSource dataSource;
+        // 이 시각(System.nanoTime)까지는 건너뛴다. 0이면 정상.
+        private volatile long downUntil;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        boolean isDown(long now) {
+            long until = downUntil;
+            return until != 0 && now - until < 0;
+        }
+
+        void markDown(long until) {
+            downUntil = until;
+        }
+    }
+}
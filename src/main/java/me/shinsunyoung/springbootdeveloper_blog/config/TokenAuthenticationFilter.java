@@ -4,33 +4,53 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import me.shinsunyoung.springbootdeveloper_blog.config.jwt.TokenProvider;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.TokenType;
+import me.shinsunyoung.springbootdeveloper_blog.service.TokenRevocationService;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/*
+/api/** 전용 필터 체인(WebSecurityConfig.apiFilterChain)에서 Authorization 헤더의 액세스 토큰으로 인증한다.
+세션을 쓰지 않으므로 인증 정보는 이번 요청의 SecurityContext에만 두고 끝나면 버린다.
+ */
 @RequiredArgsConstructor
 public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
     private final TokenProvider tokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    // 인증 없이 열려 있는 경로. 토큰을 읽지 않고 바로 다음 필터로 넘긴다.
+    private final RequestMatcher publicPaths;
     private final static String HEADER_AUTHORIZATION = "Authorization";
-    private final static String TOKEN_PREFIX = "Bearer";
+    private final static String TOKEN_PREFIX = "Bearer "; // "Bearer " 뒤가 토큰
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
         String authorizatioHeader = request.getHeader(HEADER_AUTHORIZATION);
         String token = getAccessToken(authorizatioHeader);
-        if (tokenProvider.validToken(token)) {
-            Authentication autentication = tokenProvider.getAutentication(token);
+        // 검증과 클레임 추출을 한 번에 한다. (같은 토큰이면 캐시된 클레임을 사용해 서명 검증도 생략)
+        Claims claims = tokenProvider.getVerifiedClaims(token);
+        // 액세스 토큰만 인증한다. 리프레시 토큰은 서명이 유효해도 API 호출에 쓸 수 없다.
+        // 폐기 여부는 블룸 필터로 먼저 거르고, 필터에 걸린 토큰만 DB에서 확인한다.
+        if (TokenType.ACCESS.matches(claims) && !tokenRevocationService.isRevoked(claims.getId())) {
+            Authentication autentication = tokenProvider.getAutentication(claims, token);
             SecurityContextHolder.getContext().setAuthentication(autentication);
         }
         filterChain.doFilter(request, response);
     }
 
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicPaths.matches(request);
+    }
+
     private String getAccessToken(String authorizationHeader) {
         if (authorizationHeader != null && authorizationHeader.startsWith(TOKEN_PREFIX)) {
             return authorizationHeader.substring(TOKEN_PREFIX.length());
@@ -0,0 +1,75 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import me.shinsunyoung.springbootdeveloper_blog.domain.User;
+import me.shinsunyoung.springbootdeveloper_blog.service.RefreshTokenService;
+import me.shinsunyoung.springbootdeveloper_blog.service.TokenService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.SavedRequestAwareAuthenticationSuccessHandler;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/*
+폼 로그인 성공 시 액세스 토큰과 리프레시 토큰을 발급해 쿠키로 내려준다.
+- 액세스 토큰: 화면(article.js)이 쿠키에서 꺼내 /api/** 요청의 Authorization 헤더에 넣는다.
+  서버는 /api/** 에서 이 쿠키를 읽지 않고 헤더만 보므로, 쿠키가 자동으로 실려 가는 것만으로는 API가 인증되지 않는다.
+- 리프레시 토큰: 수명이 길므로 스크립트가 읽을 수 없게(HttpOnly) HTTPS로만(Secure), 재발급 경로(/api/token)에만 보낸다.
+  POST /api/token은 이 쿠키를 서버에서 직접 읽는다. (TokenApiController)
+ */
+public class TokenLoginSuccessHandler extends SavedRequestAwareAuthenticationSuccessHandler {
+
+    public static final String ACCESS_TOKEN_COOKIE = "access_token";
+    public static final String REFRESH_TOKEN_COOKIE = "refresh_token";
+    // 리프레시 토큰 쿠키를 보내는 경로. 다른 요청에는 실리지 않는다.
+    public static final String REFRESH_TOKEN_COOKIE_PATH = "/api/token";
+
+    private final TokenService tokenService;
+    private final RefreshTokenService refreshTokenService;
+
+    public TokenLoginSuccessHandler(TokenService tokenService, RefreshTokenService refreshTokenService,
+                                    String defaultTargetUrl) {
+        setDefaultTargetUrl(defaultTargetUrl); // 로그인 전에 요청했던 화면이 없을 때 이동할 경로
+        this.tokenService = tokenService;
+        this.refreshTokenService = refreshTokenService;
+    }
+
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
+                                        Authentication authentication) throws IOException, ServletException {
+        User user = (User) authentication.getPrincipal();
+        addRefreshTokenCookie(response, refreshTokenService.issue(user), RefreshTokenService.REFRESH_TOKEN_DURATION);
+        addAccessTokenCookie(response, tokenService.createAccessToken(user), TokenService.ACCESS_TOKEN_DURATION);
+        super.onAuthenticationSuccess(request, response, authentication);
+    }
+
+    // 로그아웃 시 토큰 쿠키 제거.
+    public static void expireCookies(HttpServletResponse response) {
+        addRefreshTokenCookie(response, "", Duration.ZERO);
+        addAccessTokenCookie(response, "", Duration.ZERO);
+    }
+
+    // 쿠키를 지울 때도 같은 경로로 내려야 브라우저가 같은 쿠키로 보고 지운다.
+    private static void addRefreshTokenCookie(HttpServletResponse response, String value, Duration maxAge) {
+        addCookie(response, ResponseCookie.from(REFRESH_TOKEN_COOKIE, value)
+                .path(REFRESH_TOKEN_COOKIE_PATH)
+                .httpOnly(true)
+                .secure(true)
+                .maxAge(maxAge));
+    }
+
+    private static void addAccessTokenCookie(HttpServletResponse response, String value, Duration maxAge) {
+        addCookie(response, ResponseCookie.from(ACCESS_TOKEN_COOKIE, value)
+                .path("/")
+                .maxAge(maxAge));
+    }
+
+    private static void addCookie(HttpServletResponse response, ResponseCookie.ResponseCookieBuilder cookie) {
+        cookie.sameSite("Strict"); // 다른 사이트에서 시작된 요청에는 실리지 않는다.
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.build().toString());
+    }
+}
@@ -0,0 +1,35 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/*
+가상 스레드 모드(spring.threads.virtual.enabled=true, JDK 21 이상)에서만 적용되는 설정.
+톰캣 요청 처리와 applicationTaskExecutor(@Async, StreamingResponseBody 등)의 가상 스레드 전환은 스프링 부트가 해 주고,
+여기서는 그 외에 캐리어 스레드를 붙잡을(pinning) 수 있는 부분을 바꾼다.
+
+Caffeine의 동기 캐시는 get(key, loader)에서 ConcurrentHashMap.compute의 synchronized 구간 안에서 loader(DB 조회)를 실행한다.
+가상 스레드가 synchronized 안에서 JDBC I/O로 블로킹되면 캐리어 스레드까지 함께 묶이므로,
+비동기 캐시 모드로 바꿔 맵에는 CompletableFuture만 넣고 실제 로딩은 락 밖(가상 스레드 실행기)에서 하게 한다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> virtualThreadCacheManagerCustomizer(
+            CacheProperties cacheProperties, AsyncTaskExecutor applicationTaskExecutor) {
+        return cacheManager -> {
+            cacheManager.setCaffeine(Caffeine.from(cacheProperties.getCaffeine().getSpec())
+                    .executor(applicationTaskExecutor));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+}
@@ -1,10 +1,18 @@
 package me.shinsunyoung.springbootdeveloper_blog.config;
 
 import lombok.RequiredArgsConstructor;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.TokenProvider;
+import me.shinsunyoung.springbootdeveloper_blog.service.RefreshTokenService;
+import me.shinsunyoung.springbootdeveloper_blog.service.TokenRevocationService;
+import me.shinsunyoung.springbootdeveloper_blog.service.TokenService;
 import me.shinsunyoung.springbootdeveloper_blog.service.UserDetailService;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -12,15 +20,26 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class WebSecurityConfig {
 
+    // /api/** 중 인증 없이 열려 있는 경로. 토큰 필터도 거치지 않는다.
+    private static final RequestMatcher PUBLIC_API = new AntPathRequestMatcher("/api/token", "POST"); // 리프레시 토큰으로 액세스 토큰 재발급
+
     /*
     현재 코드에서 전혀 사용되지 않는다.
     authenticationManager() 메서드에서 @Service로 등록된 UserDetailService를 매개변수로 주입받고, 스프링이 자동으로 이를 해결하기 때문이다.
@@ -39,16 +58,56 @@ public class WebSecurityConfig {
     public WebSecurityCustomizer configure() {
         return (web) -> web.ignoring()
                 .requestMatchers(PathRequest.toH2Console())
+                // src/main/resources/static 아래 파일은 /js/**, /css/** 같은 경로로 서빙되므로 공통 위치도 함께 제외.
+                .requestMatchers(PathRequest.toStaticResources().atCommonLocations())
                 .requestMatchers(new AntPathRequestMatcher("/static/**"));
     }
 
+    /*
+    /api/** 전용 보안 필터 체인. 아래 filterChain보다 먼저 검사한다.
+    - 인증: Authorization 헤더의 액세스 토큰(TokenAuthenticationFilter). 폼 로그인, 로그아웃, 요청 캐시는 쓰지 않는다.
+    - 세션: 만들지도 읽지도 않는다(STATELESS). SecurityContext도 요청 속성에만 두므로 세션에 저장되지 않는다.
+    - 인증 실패: 로그인 페이지로 리다이렉트하지 않고 401.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http, TokenProvider tokenProvider,
+                                              TokenRevocationService tokenRevocationService) throws Exception {
+        return http
+                .securityMatcher("/api/**")
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(PUBLIC_API).permitAll()
+                        .anyRequest().authenticated())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityContext(context -> context.securityContextRepository(new RequestAttributeSecurityContextRepository()))
+                .requestCache(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                /*
+                 쿠키가 아닌 헤더로만 인증하므로 CSRF 대상이 아니다.
+                 POST /api/token만 리프레시 토큰 쿠키를 읽는데, 쿠키가 SameSite=Strict라 다른 사이트의 요청에는 실리지 않고
+                 응답(새 액세스 토큰)도 다른 출처에서는 읽을 수 없다.
+                 */
+                .csrf(AbstractHttpConfigurer::disable)
+                .addFilterBefore(new TokenAuthenticationFilter(tokenProvider, tokenRevocationService, PUBLIC_API),
+                        UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(exception -> exception
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .build();
+    }
+
     /*
     특정 HTTP 요청에 대한 웹 기반 보안 구성.
     SecurityFilterChain을 빈으로 정의하여 보안 필터 체인을 명시적으로 구성.
     로그인, 로그아웃의 경로와 동작 포함됨 -> 컨트롤러에서 지정할 필요 없음
+    /api/** 는 apiFilterChain이 처리하므로 여기서는 화면 요청만 처리한다. (세션 기반)
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    @Order(2)
+    public SecurityFilterChain filterChain(HttpSecurity http, PasswordHashingProperties passwordHashingProperties,
+                                           TokenService tokenService, RefreshTokenService refreshTokenService)
+            throws Exception {
         return http
                 // 요청 url별로 접근 권한 정의
                 .authorizeRequests(auth -> auth
@@ -56,15 +115,24 @@ public class WebSecurityConfig {
                         .requestMatchers(
                                 new AntPathRequestMatcher("/login"),
                                 new AntPathRequestMatcher("/signup"),
-                                new AntPathRequestMatcher("/user"))
-                        // 위 세 경로는 인증 없이 접근 가능.
+                                new AntPathRequestMatcher("/user"),
+                                /*
+                                 상태 확인만 연다. 지표(prometheus)는 내부 구현과 사용량이 드러나므로 로그인이 필요하다.
+                                 인증 없이 수집해야 하면 management.server.port로 내부망 전용 포트를 분리한 뒤 그 포트에서만 열 것.
+                                 */
+                                EndpointRequest.to("health"),
+                                // /api/** 에서 난 예외도 /error로 포워드되는데, 이 체인에는 토큰 인증 정보가 없으므로 열어 둔다.
+                                new AntPathRequestMatcher("/error"))
+                        // 위 경로는 인증 없이 접근 가능.
                         .permitAll()
                         // 그 외 모든 요청은 인증 필요.
                         .anyRequest().authenticated())
                 // form 기반 로그인 설정.
                 .formLogin(formLogin -> formLogin
                         .loginPage("/login") // 커스텀 로그인 페이지 경로 지정. "/login"경로로
-                        .defaultSuccessUrl("/articles") // 로그인 성공 시 리다이렉트될 기본 경로.
+                        // 로그인 성공 시 API 호출용 토큰을 쿠키로 발급하고 /articles로 리다이렉트.
+                        .successHandler(new TokenLoginSuccessHandler(tokenService, refreshTokenService, "/articles"))
+                        .failureHandler(loginFailureHandler(passwordHashingProperties))
                 )
                 /*
                  로그아웃 설정. 시큐리티 체인에서 로그아웃은 post 요청이 기본이다.
@@ -87,36 +155,56 @@ public class WebSecurityConfig {
     /**
      * 인증(Authentication)을 처리하는 AuthenticationManager 빈 생성.
      * - DaoAuthenticationProvider : 데이터베이스에서 사용자 정보를 가져오고, 비밀번호를 검증.
-     * - BCryptPasswordEncoder : 암호화된 비밀번호를 비교.
+     * - PasswordEncoder : 암호화된 비밀번호를 비교. (BCrypt, 전용 스레드 풀에서 실행)
+     * - UserDetailsPasswordService : 저장된 해시의 강도가 설정값보다 낮으면, 로그인 성공 시 새 강도로 다시 저장.
      *
-     * @param http                  HttpSecurity 객체, 시큐리티 설정과 연결. (아직 사용 안하고 있음)
-     * @param bCryptPasswordEncoder 비밀번호 암호화를 위한 인코더 빈.
-     * @param userDetailService     사용자 정보를 로드하는 서비스.
+     * @param http              HttpSecurity 객체, 시큐리티 설정과 연결. (아직 사용 안하고 있음)
+     * @param passwordEncoder   비밀번호 암호화를 위한 인코더 빈.
+     * @param userDetailService 사용자 정보를 로드하는 서비스.
      * @return 인증 매니저(AuthenticationManager) 빈.
      */
     @Bean
     public AuthenticationManager authenticationManager(
             HttpSecurity http,
-            BCryptPasswordEncoder bCryptPasswordEncoder,
+            PasswordEncoder passwordEncoder,
             UserDetailService userDetailService) {
         // 데이터베이스에서 사용자 정보와 비밀번호를 검증하는 Provider 생성
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailService); // 사용자 정보 로드
-        authProvider.setPasswordEncoder(bCryptPasswordEncoder); // 비밀번호 검증
+        authProvider.setPasswordEncoder(passwordEncoder); // 비밀번호 검증
+        authProvider.setUserDetailsPasswordService(userDetailService); // 해시 강도 업그레이드
         // ProviderManager로 DaoAuthenticationProvider를 관리하며 AuthenticationManager 반환
         return new ProviderManager(authProvider);
     }
 
     /**
-     * 비밀번호를 암호화하거나 검증할 때 사용할 BCryptPasswordEncoder 빈 생성.
-     * - 스프링 시큐리티에서 권장하는 비밀번호 암호화 방식 중 하나.
-     * - 암호화된 비밀번호와 입력 비밀번호를 비교해 검증.
+     * 비밀번호를 암호화하거나 검증할 때 사용할 PasswordEncoder 빈 생성.
+     * - BCrypt 알고리즘. 스프링 시큐리티에서 권장하는 비밀번호 암호화 방식 중 하나.
+     * - 해시 계산은 요청 스레드가 아닌 크기가 제한된 전용 스레드 풀에서 실행. (BoundedPasswordEncoder)
+     * - 컨텍스트 종료 시 close()로 스레드 풀을 정리.
      *
-     * @return BCryptPasswordEncoder 인스턴스.
+     * @return BoundedPasswordEncoder 인스턴스.
      */
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        // BCrypt 알고리즘을 사용하는 암호화 인코더 반환
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(properties.getStrength()),
+                properties.getThreads(), properties.getQueueCapacity());
+    }
+
+    /*
+    로그인 실패 처리. 해시 스레드 풀이 가득 차서 거절된 경우에는 비밀번호가 틀린 것이 아니므로
+    로그인 페이지로 보내지 않고 503(Retry-After)으로 응답한다. 그 외에는 기본 동작(/login?error 리다이렉트).
+     */
+    private AuthenticationFailureHandler loginFailureHandler(PasswordHashingProperties properties) {
+        AuthenticationFailureHandler defaultHandler = new SimpleUrlAuthenticationFailureHandler("/login?error");
+        return (request, response, exception) -> {
+            if (exception instanceof PasswordHashingRejectedException) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+                // sendError를 쓰면 인증되지 않은 /error 요청이 되어 로그인 페이지로 리다이렉트되므로 상태 코드만 설정.
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return;
+            }
+            defaultHandler.onAuthenticationFailure(request, response, exception);
+        };
     }
 }
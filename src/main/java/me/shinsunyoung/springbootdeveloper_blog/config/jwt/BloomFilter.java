@@ -0,0 +1,94 @@
+package me.shinsunyoung.springbootdeveloper_blog.config.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+문자열 집합의 블룸 필터. "없다"는 답은 항상 정확하고, "있을 수 있다"는 답은 설정한 오탐률(fpp) 안에서 틀릴 수 있다.
+넣은 값을 지울 수는 없으므로, 지워야 할 값이 생기면 새 필터를 만들어 교체한다. (TokenRevocationService.rebuild)
+여러 스레드가 동시에 put / mightContain 해도 된다. (비트 배열은 AtomicLongArray)
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * 예상 원소 수와 오탐률에 맞는 크기의 필터 생성.
+     * 비트 수 m = -n·ln(p) / (ln2)², 해시 함수 수 k = m/n·ln2.
+     * 예상보다 많이 넣어도 동작은 하지만 오탐률이 올라간다.
+     */
+    public static BloomFilter create(int expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("expectedInsertions: " + expectedInsertions + ", fpp: " + fpp);
+        }
+        long bitCount = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        return new BloomFilter(bitCount, hashCount);
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            setBit(index);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 비트 배열 크기(바이트). 모니터링용.
+    public long sizeInBytes() {
+        return bits.length() * 8L;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index; // 시프트 값은 하위 6비트만 쓰인다.
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    // FNV-1a 64비트 해시 후 비트를 섞는다. (double hashing의 두 해시 값은 hash1과 mix(hash1 ^ 상수)로 만든다)
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85A53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,13 @@
+package me.shinsunyoung.springbootdeveloper_blog.config.jwt;
+
+/*
+클라이언트가 보낸 토큰을 받아들일 수 없을 때 발생.
+서명/만료 검증 실패, 종류(TokenType)가 다른 토큰, 저장되어 있지 않거나 만료된 리프레시 토큰.
+요청한 쪽의 인증 정보가 잘못된 것이므로 컨트롤러에서 401로 응답한다. (TokenApiController)
+ */
+public class InvalidTokenException extends IllegalArgumentException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
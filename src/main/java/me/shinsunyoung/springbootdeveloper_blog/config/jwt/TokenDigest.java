@@ -0,0 +1,28 @@
+package me.shinsunyoung.springbootdeveloper_blog.config.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/*
+토큰 원문 대신 저장/비교에 쓰는 고정 길이(64자) SHA-256 다이제스트(hex).
+토큰 원문을 메모리 캐시나 DB에 그대로 남기지 않고, 길이가 일정해 인덱스 키로 쓰기 좋다.
+ */
+public final class TokenDigest {
+
+    // 다이제스트 문자열 길이 (SHA-256 = 32바이트 = hex 64자)
+    public static final int LENGTH = 64;
+
+    private TokenDigest() {
+    }
+
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
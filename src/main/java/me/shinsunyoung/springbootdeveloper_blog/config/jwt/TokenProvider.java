@@ -2,25 +2,59 @@ package me.shinsunyoung.springbootdeveloper_blog.config.jwt;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.impl.TextCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import me.shinsunyoung.springbootdeveloper_blog.domain.User;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Set;
+import java.util.UUID;
 
-@RequiredArgsConstructor
 @Service
 public class TokenProvider {
 
     private final JwtProperties jwtProperties;
+    private final VerifiedClaimsCache verifiedClaimsCache;
+    private final Key signingKey; // HS256 서명/검증 키. 생성자에서 한 번만 만든다.
+    private final JwtParser jwtParser; // 서명 키가 설정된 파서. 상태를 바꾸지 않으므로 여러 스레드가 함께 사용.
+
+    /*
+    토큰 검증 결과별 횟수. (jwt.verifications, outcome 태그)
+    - cached: VerifiedClaimsCache 적중. 서명 검증 생략.
+    - verified: 파싱과 서명 검증 성공.
+    - invalid: 만료, 변조, 형식 오류.
+    검증마다 레지스트리에서 찾지 않도록 생성자에서 미리 등록해 둔다.
+     */
+    private final Counter cachedVerifications;
+    private final Counter verifiedVerifications;
+    private final Counter invalidVerifications;
+
+    /*
+    jwt.secret_key 문자열을 토큰마다 Base64 디코딩해서 키를 만들지 않도록, 빈 생성 시점(JwtProperties 바인딩 이후)에 한 번만 키를 만든다.
+    signWith(HS256, String), setSigningKey(String)과 같은 방식(Base64 디코딩)으로 키 바이트를 얻으므로 기존 토큰과 호환된다.
+     */
+    public TokenProvider(JwtProperties jwtProperties, VerifiedClaimsCache verifiedClaimsCache, MeterRegistry meterRegistry) {
+        this.jwtProperties = jwtProperties;
+        this.verifiedClaimsCache = verifiedClaimsCache;
+        this.signingKey = new SecretKeySpec(TextCodec.BASE64.decode(jwtProperties.getSecretKey()),
+                SignatureAlgorithm.HS256.getJcaName());
+        this.jwtParser = Jwts.parser().setSigningKey(signingKey);
+        this.cachedVerifications = verificationCounter(meterRegistry, "cached");
+        this.verifiedVerifications = verificationCounter(meterRegistry, "verified");
+        this.invalidVerifications = verificationCounter(meterRegistry, "invalid");
+    }
 
     /**
      * JWT 생성 메서드
@@ -29,10 +63,16 @@ public class TokenProvider {
      * @param expiredAt 토큰의 수명 지정. ex) 1시간짜리 토큰 : Duration.ofHours(1)을 인자로 전달.
      * @return makeToken 메서드를 통해 생성된 String을 반환
      * 이 메서드는 User 정보와 토큰 수명을 지정하여 makeToken를 호출하고 그 결과를 반환함.
+     * 액세스 토큰(TokenType.ACCESS)을 만든다.
      */
     public String generateToken(User user, Duration expiredAt) {
+        return generateToken(user, expiredAt, TokenType.ACCESS);
+    }
+
+    // 종류(typ 클레임)를 지정해 토큰 생성. 리프레시 토큰은 TokenType.REFRESH로 만든다. (RefreshTokenService)
+    public String generateToken(User user, Duration expiredAt, TokenType tokenType) {
         Date now = new Date();
-        return makeToken(new Date(now.getTime() + expiredAt.toMillis()), user);
+        return makeToken(new Date(now.getTime() + expiredAt.toMillis()), user, tokenType);
     }
 
     /**
@@ -42,7 +82,7 @@ public class TokenProvider {
      * @param user 유저 객체
      * @return Jwts.builder() 통해 생성된 jwt를 반환.
      */
-    private String makeToken(Date expiry, User user) {
+    private String makeToken(Date expiry, User user, TokenType tokenType) {
         Date now = new Date();
 
         return Jwts.builder()
@@ -51,9 +91,11 @@ public class TokenProvider {
                 .setIssuedAt(now) // 발급 시간
                 .setExpiration(expiry) // 만료 시간
                 .setSubject(user.getEmail()) // 사용자의 식별자
+                .setId(UUID.randomUUID().toString()) // 토큰 식별자(jti). 만료 전 폐기에 사용. (TokenRevocationService)
                 .claim("id", user.getId()) // 추가 클레임
+                .claim(TokenType.CLAIM, tokenType.getValue()) // 토큰 종류. 리프레시 토큰을 액세스 토큰으로 쓰지 못하게 구분.
                 // 서명. 비밀값과 함께 해시값ㅇ르 HS256 방식으로 암호화.
-                .signWith(SignatureAlgorithm.HS256, jwtProperties.getSecretKey())
+                .signWith(SignatureAlgorithm.HS256, signingKey)
                 .compact(); // 최종적으로 JWT 문자열 생성
     }
 
@@ -63,13 +105,32 @@ public class TokenProvider {
      * 토큰을 파싱하고 비밀키를 사용해 서명 검증
      */
     public boolean validToken(String token) {
+        return getVerifiedClaims(token) != null; // 유효하면 true 반환
+    }
+
+    /**
+     * 토큰을 한 번만 파싱/서명 검증하고 클레임을 반환.
+     * 검증에 성공한 클레임은 VerifiedClaimsCache에 보관되어, 같은 토큰으로 다시 요청하면 서명 검증 없이 바로 반환된다.
+     *
+     * @return 검증된 클레임. 만료되었거나 변조된 토큰이면 null.
+     */
+    public Claims getVerifiedClaims(String token) {
+        if (token == null) {
+            return null;
+        }
+        Claims cached = verifiedClaimsCache.get(token);
+        if (cached != null) {
+            cachedVerifications.increment();
+            return cached;
+        }
         try {
-            Jwts.parser()
-                    .setSigningKey(jwtProperties.getSecretKey())
-                    .parseClaimsJws(token);
-            return true; // 유효하면 true 반환
+            Claims claims = getClaims(token);
+            verifiedClaimsCache.put(token, claims);
+            verifiedVerifications.increment();
+            return claims;
         } catch (Exception e) {
-            return false; // 예외 발생 시 false 반환
+            invalidVerifications.increment();
+            return null; // 예외 발생 시 유효하지 않은 토큰
         }
     }
 
@@ -79,7 +140,14 @@ public class TokenProvider {
      * @return UsernamePasswordAuthenticationToken : 인증 정보를 담는 Authentication 객체의 구현체.
      */
     public Authentication getAutentication(String token) {
-        Claims claims = getClaims(token); // JWT의 페이로드 추출
+        return getAutentication(getClaims(token), token); // JWT의 페이로드 추출
+    }
+
+    /**
+     * 이미 검증된 클레임으로 인증 정보를 만든다. 토큰을 다시 파싱하지 않는다.
+     * TokenAuthenticationFilter처럼 getVerifiedClaims()로 먼저 검증한 경우에 사용.
+     */
+    public Authentication getAutentication(Claims claims, String token) {
         /*
          현재 코드는 사용자의 권한을 "ROLE_USER"라는 고정된 값으로 설정. JWT에서 실제 권한 정보를 추출하지 않고, 모든 사용자에게 동일한 권한을 부여.
          제대로 하려면 JWT에서 권한 정보 추출해서 동적으로 권한 설정해야함.
@@ -105,9 +173,15 @@ public class TokenProvider {
         return claims.get("id", Long.class);
     }
 
+    private static Counter verificationCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("jwt.verifications")
+                .description("JWT verifications by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     private Claims getClaims(String token) {
-        return Jwts.parser() // 클레임 조회
-                .setSigningKey(jwtProperties.getSecretKey())
+        return jwtParser // 클레임 조회
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -0,0 +1,33 @@
+package me.shinsunyoung.springbootdeveloper_blog.config.jwt;
+
+import io.jsonwebtoken.Claims;
+
+/*
+토큰 종류. 토큰의 typ 클레임에 저장한다. (TokenProvider.generateToken)
+두 토큰은 같은 키로 서명하므로 서명만으로는 구분되지 않는다.
+- ACCESS: /api/** 호출용(Authorization 헤더). TokenAuthenticationFilter는 이 종류만 인증한다.
+- REFRESH: 액세스 토큰 재발급용(POST /api/token). API 호출에는 쓸 수 없다.
+typ 클레임이 없는 토큰(종류 구분 이전에 발급된 토큰)은 어느 쪽으로도 인정하지 않는다.
+ */
+public enum TokenType {
+
+    ACCESS("access"),
+    REFRESH("refresh");
+
+    public static final String CLAIM = "typ";
+
+    private final String value;
+
+    TokenType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    // 검증된 클레임의 typ이 이 종류인지 확인.
+    public boolean matches(Claims claims) {
+        return claims != null && value.equals(claims.get(CLAIM, String.class));
+    }
+}
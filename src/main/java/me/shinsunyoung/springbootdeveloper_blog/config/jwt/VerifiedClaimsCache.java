@@ -0,0 +1,63 @@
+package me.shinsunyoung.springbootdeveloper_blog.config.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+서명 검증을 통과한 토큰의 클레임 캐시.
+같은 액세스 토큰으로 반복되는 요청은 파싱과 HMAC 서명 검증을 다시 하지 않고 여기서 클레임을 꺼내 쓴다.
+- key: 토큰 원문이 아닌 SHA-256 다이제스트(hex). 메모리에 토큰 원문을 쌓아 두지 않는다.
+- 만료: 각 항목은 토큰의 exp 시각에 제거되므로, 만료된 토큰이 캐시 때문에 통과하는 일은 없다.
+- 크기: 최대 MAXIMUM_SIZE개. 넘으면 오래 쓰이지 않은 항목부터 제거.
+ */
+@Component
+public class VerifiedClaimsCache {
+
+    private static final int MAXIMUM_SIZE = 10_000;
+
+    private final Cache<String, Claims> cache = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfter(new Expiry<String, Claims>() {
+                @Override
+                public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                    return nanosUntilExpiration(claims);
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                    return nanosUntilExpiration(claims);
+                }
+
+                @Override
+                public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration; // 조회해도 만료 시각은 늘어나지 않는다.
+                }
+            })
+            .build();
+
+    // 캐시된 클레임 반환. 없거나 이미 만료됐으면 null.
+    public Claims get(String token) {
+        return cache.getIfPresent(TokenDigest.sha256Hex(token));
+    }
+
+    /*
+    검증된 클레임 저장. 만료 시각(exp)이 없는 토큰은 언제 제거해야 할지 알 수 없으므로 캐시하지 않는다.
+    캐시된 Claims 객체는 여러 요청이 함께 읽으므로 꺼내 쓰는 쪽에서 수정하면 안 된다.
+     */
+    public void put(String token, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        cache.put(TokenDigest.sha256Hex(token), claims);
+    }
+
+    private static long nanosUntilExpiration(Claims claims) {
+        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+    }
+}
@@ -0,0 +1,41 @@
+package me.shinsunyoung.springbootdeveloper_blog.config.sql;
+
+import org.hibernate.SessionEventListener;
+
+/*
+세션마다 하나씩 만들어지는 Hibernate 이벤트 리스너. (hibernate.session.events.auto)
+JDBC 실행(단건, 배치) 시간을 재서 현재 요청의 JDBC 시간에 더한다.
+StatementInspector는 실행 전에 호출되므로 시간을 잴 수 없어 따로 둔다.
+ */
+public class JdbcTimeListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private void record(long start) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.jdbcExecuted(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package me.shinsunyoung.springbootdeveloper_blog.config.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/*
+요청마다 실행된 SQL 문 수와 JDBC 시간을 집계한다. (RequestQueryStats)
+엔드포인트별 기준(QueryMonitorProperties)을 넘으면 경고 로그를 남겨 N+1 같은 쿼리 증가를 찾을 수 있게 한다.
+보안 필터(토큰 폐기 확인, 로그인 사용자 조회)에서 실행된 SQL도 세도록 가장 앞에 둔다.
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Component
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+
+    private final QueryMonitorProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        DebugHeaderResponse wrapped = new DebugHeaderResponse(response, request, stats);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            RequestQueryStats.end();
+            wrapped.beforeCommit(); // 본문 없이 끝난 응답(304 등)
+            request.setAttribute(RequestQueryStats.ATTRIBUTE, stats);
+
+            String endpoint = endpoint(request);
+            int threshold = properties.thresholdFor(endpoint);
+            if (stats.getStatements() > threshold) {
+                log.warn("{} issued {} SQL statements ({} ms in JDBC), threshold {}",
+                        endpoint, stats.getStatements(), stats.getJdbcMillis(), threshold);
+            }
+        }
+    }
+
+    // 로그와 기준 조회에 쓰는 엔드포인트 이름. 경로 변수 값(글 id 등)이 아닌 매핑 패턴을 써서 종류 수를 제한한다.
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    /*
+    헤더는 응답이 커밋(본문 쓰기 시작)되기 전에만 붙일 수 있으므로, 본문을 쓰기 직전의 집계로 헤더를 붙인다.
+    본문을 쓰는 동안 실행되는 SQL은 없으므로(open-in-view: false) 이 시점의 값이 요청 전체의 값과 같다.
+     */
+    private class DebugHeaderResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final RequestQueryStats stats;
+        private boolean checked;
+
+        DebugHeaderResponse(HttpServletResponse response, HttpServletRequest request, RequestQueryStats stats) {
+            super(response);
+            this.request = request;
+            this.stats = stats;
+        }
+
+        void beforeCommit() {
+            if (checked || isCommitted() || !properties.isDebugHeader()) {
+                return;
+            }
+            checked = true;
+            if (stats.getStatements() > properties.thresholdFor(endpoint(request))) {
+                setHeader(QUERY_COUNT_HEADER, String.valueOf(stats.getStatements()));
+                setHeader(QUERY_TIME_HEADER, String.valueOf(stats.getJdbcMillis()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            beforeCommit();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            beforeCommit();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            beforeCommit();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            beforeCommit();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            beforeCommit();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            beforeCommit();
+            super.sendRedirect(location);
+        }
+    }
+}
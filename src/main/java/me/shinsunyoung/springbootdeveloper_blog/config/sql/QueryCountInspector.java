@@ -0,0 +1,20 @@
+package me.shinsunyoung.springbootdeveloper_blog.config.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/*
+Hibernate가 SQL 문을 준비(prepare)할 때마다 현재 요청의 실행 수를 하나 올린다. SQL은 바꾸지 않는다.
+JDBC 배치는 묶음 하나가 한 번으로 세어진다. (DB 왕복 수와 같다)
+show-sql처럼 SQL 문자열을 만들거나 출력하지 않으므로 운영에서 켜 두어도 부담이 거의 없다.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementPrepared();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,29 @@
+package me.shinsunyoung.springbootdeveloper_blog.config.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("query-monitor") // application.yml의 query-monitor 항목
+public class QueryMonitorProperties {
+    // 엔드포인트별 기준이 없을 때 쓰는 요청당 최대 SQL 문 수. 넘으면 경고 로그.
+    private int defaultThreshold = 10;
+    /*
+    엔드포인트별 요청당 최대 SQL 문 수. key는 "HTTP 메서드 + 공백 + 매핑 패턴". ex) "GET /api/articles/{id}"
+    yml에서는 key에 공백과 중괄호가 있으므로 "[GET /api/articles/{id}]"처럼 대괄호로 감싼다.
+     */
+    private Map<String, Integer> thresholds = new HashMap<>();
+    // 기준을 넘은 응답에 X-Query-Count, X-Query-Time-Ms 헤더를 붙인다. (디버깅용)
+    private boolean debugHeader = false;
+
+    public int thresholdFor(String endpoint) {
+        return thresholds.getOrDefault(endpoint, defaultThreshold);
+    }
+}
@@ -0,0 +1,48 @@
+package me.shinsunyoung.springbootdeveloper_blog.config.sql;
+
+/*
+HTTP 요청 하나가 실행한 SQL 문 수와 JDBC 실행 시간.
+QueryCountFilter가 요청 시작 시 현재 스레드에 만들어 두고, Hibernate 쪽(QueryCountInspector, JdbcTimeListener)이 여기에 더한다.
+요청 스레드가 아닌 곳(비동기 응답, @Scheduled 작업 등)에서 실행된 SQL은 집계되지 않는다.
+ */
+public class RequestQueryStats {
+
+    // 요청이 끝난 뒤 집계 결과를 담는 요청 속성 이름. (테스트에서 확인용)
+    public static final String ATTRIBUTE = RequestQueryStats.class.getName();
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // 현재 스레드에서 집계 중인 요청. 요청 밖이면 null.
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void jdbcExecuted(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcMillis() {
+        return jdbcNanos / 1_000_000;
+    }
+}
@@ -1,23 +1,57 @@
 package me.shinsunyoung.springbootdeveloper_blog.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
 import me.shinsunyoung.springbootdeveloper_blog.dto.AddArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleDetailResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleExportResponse;
 import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleSearchPage;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleSearchResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleVersion;
+import me.shinsunyoung.springbootdeveloper_blog.dto.CursorPage;
+import me.shinsunyoung.springbootdeveloper_blog.dto.InvalidCursorException;
+import me.shinsunyoung.springbootdeveloper_blog.dto.PatchArticleRequest;
 import me.shinsunyoung.springbootdeveloper_blog.dto.UpdateArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.service.ArticleSearchIndex;
 import me.shinsunyoung.springbootdeveloper_blog.service.BlogService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
 public class BlogApiController {
 
-    private final BlogService blogService;
+    // 다음 페이지 커서를 담는 응답 헤더. 응답 본문(글 배열) 형식은 그대로 유지한다.
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    // 검색 결과의 전체 일치 건수를 담는 응답 헤더.
+    public static final String TOTAL_HITS_HEADER = "X-Total-Hits";
+    /*
+    캐시에 저장은 하되, 쓰기 전에 항상 서버에 ETag로 재검증하게 한다.
+    (스프링 시큐리티 기본값인 no-store면 클라이언트/CDN이 저장하지 않아 If-None-Match를 보내지 못한다.)
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+    // JSON Merge Patch (RFC 7396) 요청 본문 형식
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
 
+    private final BlogService blogService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/api/articles")
     public ResponseEntity<Article> addArticle(@RequestBody AddArticleRequest request) {
@@ -25,20 +59,100 @@ public class BlogApiController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedArticle);
     }
 
+    /*
+    여러 글을 한 번에 등록. (대량 이관용, 최대 BlogService.MAX_BATCH_SIZE건)
+    글마다 요청/트랜잭션을 따로 만들지 않고, 한 트랜잭션 안에서 JDBC 배치 insert로 저장한다.
+    응답 본문은 등록된 글의 id 목록. (요청 순서와 같음)
+    MAX_BATCH_SIZE건을 넘으면 아무것도 저장하지 않고 413으로 응답한다. 나눠서 다시 요청하면 된다.
+     */
+    @PostMapping("/api/articles/batch")
+    public ResponseEntity<List<Long>> addArticles(@RequestBody List<AddArticleRequest> requests) {
+        if (requests.size() > BlogService.MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "too many articles: " + requests.size() + " (max " + BlogService.MAX_BATCH_SIZE + " per batch)");
+        }
+        List<Long> ids = blogService.saveAll(requests).stream()
+                .map(Article::getId)
+                .toList();
+        return ResponseEntity.status(HttpStatus.CREATED).body(ids);
+    }
+
+    /*
+    전체 목록을 한 번에 내려주지 않고 커서 기반으로 한 페이지씩 내려준다.
+    다음 페이지가 있으면 X-Next-Cursor 헤더 값을 cursor 파라미터로 다시 요청하면 된다.
+     */
     @GetMapping("/api/articles")
-    public ResponseEntity<List<ArticleResponse>> findAllArticles() {
-//        List<Article> articles = blogService.findAll();
-//        List<ArticleResponse> articleResponses = articles.stream().map(article -> new ArticleResponse(article)).toList();
-//        ResponseEntity<List<ArticleResponse>> responseEntity = ResponseEntity.ok().body(articleResponses);
-//        return responseEntity;
-        return ResponseEntity.ok().body(blogService.findAll().stream().map(ArticleResponse::new).toList());
+    public ResponseEntity<List<ArticleResponse>> findAllArticles(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size) {
+        CursorPage<ArticleResponse> page = blogService.findArticlePage(cursor, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
+    /*
+    전체 글을 NDJSON(한 줄에 JSON 하나)으로 내보낸다. 백업/미러링용.
+    DB 커서에서 읽는 즉시 응답 스트림에 쓰므로 글 수와 상관없이 힙 사용량이 일정하다.
+    StreamingResponseBody는 요청 스레드가 아닌 비동기 스레드에서 실행된다.
+     */
+    @GetMapping(value = "/api/articles/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportArticles() {
+        ObjectWriter writer = objectMapper.writerFor(ArticleExportResponse.class);
+        StreamingResponseBody body = outputStream ->
+                blogService.exportAll(article -> writeLine(writer, outputStream, article));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /*
+    제목/본문 전문 검색. 관련도 순으로 page번째 페이지를 내려준다. (page는 0부터)
+    응답 본문은 글 목록 배열이고, 전체 일치 건수는 X-Total-Hits 헤더에 담는다.
+    검색어가 비었거나, page가 음수이거나, (page + 1) * size가 ArticleSearchIndex.MAX_RESULT_WINDOW를 넘으면 400.
+     */
+    @GetMapping("/api/articles/search")
+    public ResponseEntity<List<ArticleSearchResponse>> searchArticles(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "page", required = false) Integer page,
+            @RequestParam(name = "size", required = false) Integer size) {
+        if (!StringUtils.hasText(query)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "empty query");
+        }
+        int pageNumber = page == null ? 0 : page;
+        int pageSize = BlogService.normalizePageSize(size);
+        if (pageNumber < 0 || (long) (pageNumber + 1) * pageSize > ArticleSearchIndex.MAX_RESULT_WINDOW) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "page out of range: " + page + " ((page + 1) * size <= " + ArticleSearchIndex.MAX_RESULT_WINDOW + ")");
+        }
+        ArticleSearchPage result = blogService.search(query, pageNumber, pageSize);
+
+        return ResponseEntity.ok()
+                .header(TOTAL_HITS_HEADER, String.valueOf(result.getTotalHits()))
+                .body(result.getContent());
     }
 
+    /*
+    글 상세 조회. ETag / Last-Modified를 내려주고, 클라이언트가 가진 버전이 최신이면 본문 없이 304로 응답한다.
+    버전 확인은 id와 수정 시각만 읽는 가벼운 쿼리로 하고, 본문은 변경됐을 때만 조회한다.
+     */
     @GetMapping("/api/articles/{id}")
-    public ResponseEntity<Article> findById(@PathVariable("id") Long id) {
-        Article article = blogService.findById(id);
+    public ResponseEntity<ArticleDetailResponse> findById(@PathVariable("id") Long id, WebRequest request) {
+        ArticleVersion version = blogService.findVersion(id);
+        // If-None-Match / If-Modified-Since 비교. 일치하면 ETag, Last-Modified 헤더와 304 상태가 설정된다.
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
 
-        return ResponseEntity.ok().body(article);
+        ArticleDetailResponse article = blogService.findById(id);
+        // ETag는 실제로 내려주는 본문의 버전으로 설정. (버전 조회와 본문 조회 사이에 수정됐을 수 있으므로)
+        ArticleVersion bodyVersion = new ArticleVersion(article);
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(bodyVersion.getETag())
+                .lastModified(bodyVersion.getLastModified())
+                .body(article);
     }
 
     @DeleteMapping("/api/articles/{id}")
@@ -47,9 +161,63 @@ public class BlogApiController {
         return ResponseEntity.ok().build();
     }
 
+    /*
+    글 수정. If-Match에 조회 때 받은 ETag를 보내면, 그 사이에 다른 사람이 수정한 경우 덮어쓰지 않고 412로 응답한다.
+    If-Match가 없거나 *이면 버전을 비교하지 않지만, 동시에 들어온 수정끼리는 여전히 먼저 커밋한 쪽만 반영된다.
+    응답의 ETag는 수정된 글의 새 버전이므로, 이어서 수정할 때 그대로 If-Match로 보내면 된다.
+     */
     @PutMapping("/api/articles/{id}")
-    public ResponseEntity<Article> updateArticle(@PathVariable("id") Long id, @RequestBody UpdateArticleRequest updateRequest) {
-        Article updatedArticle = blogService.update(id, updateRequest);
-        return ResponseEntity.ok().body(updatedArticle);
+    public ResponseEntity<Article> updateArticle(@PathVariable("id") Long id,
+                                                 @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @RequestBody UpdateArticleRequest updateRequest) {
+        Article updatedArticle = blogService.update(id, updateRequest, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(new ArticleVersion(updatedArticle).getETag())
+                .body(updatedArticle);
+    }
+
+    /*
+    글 일부 수정. (JSON Merge Patch: application/merge-patch+json, application/json)
+    요청 본문에 있는 필드만 바꾸고, update 문에도 바뀐 컬럼만 넣는다. 제목만 고치면 본문은 다시 쓰지 않는다.
+    바뀐 값이 없으면 update 문 없이 200으로 응답하고, updatedAt과 ETag도 그대로다.
+    If-Match와 412 응답은 PUT과 같다.
+     */
+    @PatchMapping(value = "/api/articles/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Article> patchArticle(@PathVariable("id") Long id,
+                                                @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @RequestBody PatchArticleRequest patchRequest) {
+        Article patchedArticle = blogService.patch(id, patchRequest, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(new ArticleVersion(patchedArticle).getETag())
+                .body(patchedArticle);
+    }
+
+    // 수정 충돌(낙관적 락 실패). 클라이언트는 글을 다시 조회해 새 ETag로 다시 시도해야 한다.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> updateConflict() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    // 변조되었거나 형식이 맞지 않는 cursor 파라미터
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Void> invalidCursor() {
+        return ResponseEntity.badRequest().build();
+    }
+
+    // If-Match가 없거나 *이면 null (버전을 비교하지 않음)
+    private Long expectedVersion(long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        return ArticleVersion.versionOf(id, ifMatch);
+    }
+
+    private void writeLine(ObjectWriter writer, OutputStream outputStream, ArticleExportResponse article) {
+        try {
+            outputStream.write(writer.writeValueAsBytes(article));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -1,41 +1,91 @@
 package me.shinsunyoung.springbootdeveloper_blog.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
+import me.shinsunyoung.springbootdeveloper_blog.config.CacheConfig;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleDetailResponse;
 import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleListViewResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleVersion;
 import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleViewResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.CursorPage;
+import me.shinsunyoung.springbootdeveloper_blog.dto.InvalidCursorException;
 import me.shinsunyoung.springbootdeveloper_blog.service.BlogService;
+import me.shinsunyoung.springbootdeveloper_blog.service.MarkdownRenderer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @Controller
 public class BlogViewController {
 
+    // 로그인 사용자만 보는 화면이므로 브라우저에만 저장하고(private), 쓰기 전에 항상 ETag로 재검증한다.
+    private static final String REVALIDATE_PRIVATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
     private final BlogService blogService;
+    private final RenderedPageCache renderedPageCache;
+    private final MarkdownRenderer markdownRenderer;
 
+    /*
+    글 목록 화면. 렌더링된 HTML을 목록 버전(BlogService.getListVersion)과 함께 캐시해 두고,
+    그 뒤로 글이 바뀌지 않았으면 목록 조회와 템플릿 렌더링 없이 그대로 응답한다.
+     */
     @GetMapping("/articles")
-    public String getArticles(Model model) {
-        List<ArticleListViewResponse> articles = blogService.findAll()
-                .stream()
-                .map(ArticleListViewResponse::new)
-                .toList();
-        model.addAttribute("articles", articles);
-
-        return "articleList";
+    public void getArticles(@RequestParam(name = "cursor", required = false) String cursor,
+                            HttpServletRequest request, HttpServletResponse response) throws Exception {
+        String key = cursor == null ? "" : cursor;
+        // 목록을 읽기 전에 버전을 먼저 구한다. (RenderedPageCache.render 참고)
+        String version = String.valueOf(blogService.getListVersion());
+        if (renderedPageCache.writeIfCached(CacheConfig.ARTICLE_LIST_PAGES, key, version, response)) {
+            return;
+        }
+
+        CursorPage<ArticleListViewResponse> page = blogService.findListViewPage(cursor, null);
+        Map<String, Object> model = new HashMap<>();
+        model.put("articles", page.getContent());
+        model.put("nextCursor", page.getNextCursor()); // 마지막 페이지면 null
+
+        renderedPageCache.render(CacheConfig.ARTICLE_LIST_PAGES, key, version, "articleList", model, request, response);
     }
 
+    /*
+    글 상세 화면. 화면에 사용자별 내용이 없으므로 글의 버전(ETag / Last-Modified)만으로 304 여부를 판단한다.
+    304이면 본문 조회와 템플릿 렌더링을 모두 건너뛴다.
+    304가 아니어도 같은 버전의 렌더링 결과가 캐시에 있으면 템플릿 엔진을 거치지 않고 그대로 응답한다.
+    화면을 다시 렌더링하더라도(제목만 수정 등) 본문이 같으면 마크다운은 다시 변환하지 않는다. (MarkdownRenderer)
+     */
     @GetMapping("/articles/{id}")
-    public String getArticle(@PathVariable("id") Long id, Model model) {
-        Article article = blogService.findById(id);
-        model.addAttribute("article", new ArticleViewResponse(article));
+    public void getArticle(@PathVariable("id") Long id, WebRequest webRequest,
+                           HttpServletRequest request, HttpServletResponse response) throws Exception {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE_PRIVATE);
+        ArticleVersion version = blogService.findVersion(id);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return; // 304와 ETag, Last-Modified 헤더는 checkNotModified가 설정함.
+        }
+        if (renderedPageCache.writeIfCached(CacheConfig.ARTICLE_PAGES, id, version.getETag(), response)) {
+            return;
+        }
+
+        ArticleDetailResponse article = blogService.findById(id);
+        // 캐시 버전과 ETag는 실제로 렌더링하는 본문의 버전을 쓴다.
+        String bodyVersion = new ArticleVersion(article).getETag();
+        response.setHeader(HttpHeaders.ETAG, bodyVersion);
 
-        return "article";
+        Map<String, Object> model = new HashMap<>();
+        String contentHtml = markdownRenderer.render(article.getContentHash(), article.getContent());
+        model.put("article", new ArticleViewResponse(article, contentHtml));
+        renderedPageCache.render(CacheConfig.ARTICLE_PAGES, id, bodyVersion, "article", model, request, response);
     }
 
 
@@ -44,10 +94,16 @@ public class BlogViewController {
         if (id == null) {
             model.addAttribute("article", new ArticleViewResponse());
         } else {
-            Article article = blogService.findById(id);
+            ArticleDetailResponse article = blogService.findById(id);
             model.addAttribute("article", new ArticleViewResponse(article));
         }
 
         return "newArticle";
     }
+
+    // 변조되었거나 형식이 맞지 않는 cursor 파라미터
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Void> invalidCursor() {
+        return ResponseEntity.badRequest().build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package me.shinsunyoung.springbootdeveloper_blog.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import me.shinsunyoung.springbootdeveloper_blog.dto.RenderedPage;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import java.io.IOException;
+import java.util.Map;
+
+/*
+렌더링된 HTML 화면 캐시. (BlogViewController에서 사용)
+캐시된 페이지의 version이 현재 버전과 같으면 템플릿 엔진을 거치지 않고 저장된 바이트를 그대로 응답한다.
+없거나 버전이 다르면 평소와 같은 ThymeleafView로 렌더링하면서 결과를 복사해 캐시에 저장한다.
+
+캐시된 HTML은 모든 사용자가 공유하므로, 캐시하는 화면에는 사용자별 내용이 없어야 한다.
+(로그아웃 폼은 모든 사용자에게 같은 HTML이다. CSRF 보호를 켜서 폼에 사용자별 토큰이 들어가게 되면 캐시에서 제외해야 한다.)
+ */
+@RequiredArgsConstructor
+@Component
+public class RenderedPageCache {
+
+    private final CacheManager cacheManager;
+    private final ThymeleafViewResolver viewResolver;
+
+    /**
+     * 현재 버전의 페이지가 캐시에 있으면 응답에 쓰고 true를 반환.
+     */
+    public boolean writeIfCached(String cacheName, Object key, String version, HttpServletResponse response)
+            throws IOException {
+        RenderedPage page = cacheManager.getCache(cacheName).get(key, RenderedPage.class);
+        if (page == null || !page.getVersion().equals(version)) {
+            return false;
+        }
+        response.setContentType(page.getContentType());
+        response.setContentLength(page.getBody().length);
+        response.getOutputStream().write(page.getBody());
+        return true;
+    }
+
+    /**
+     * 템플릿을 렌더링해 응답에 쓰고, 같은 결과를 version과 함께 캐시에 저장.
+     *
+     * @param version 렌더링한 데이터의 버전. 데이터를 읽기 전에 구했거나, 읽은 데이터 자체에서 구한 값이어야 한다.
+     *                (데이터를 읽은 뒤 따로 조회하면, 그 사이의 변경 때문에 이전 내용이 새 버전으로 저장될 수 있다.)
+     */
+    public void render(String cacheName, Object key, String version, String viewName, Map<String, Object> model,
+                       HttpServletRequest request, HttpServletResponse response) throws Exception {
+        View view = viewResolver.resolveViewName(viewName, RequestContextUtils.getLocale(request));
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        view.render(model, request, wrapper);
+
+        Cache cache = cacheManager.getCache(cacheName);
+        cache.put(key, new RenderedPage(version, wrapper.getContentType(), wrapper.getContentAsByteArray()));
+        wrapper.copyBodyToResponse();
+    }
+}
@@ -0,0 +1,65 @@
+package me.shinsunyoung.springbootdeveloper_blog.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import me.shinsunyoung.springbootdeveloper_blog.config.TokenLoginSuccessHandler;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.InvalidTokenException;
+import me.shinsunyoung.springbootdeveloper_blog.dto.CreateAccessTokenRequest;
+import me.shinsunyoung.springbootdeveloper_blog.dto.CreateAccessTokenResponse;
+import me.shinsunyoung.springbootdeveloper_blog.service.TokenService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+public class TokenApiController {
+
+    private final TokenService tokenService;
+
+    /*
+    리프레시 토큰을 받아 새 액세스 토큰을 발급. (로그인 없이 호출 가능)
+    브라우저는 로그인 때 받은 HttpOnly 쿠키(refresh_token)로 보내므로 스크립트가 리프레시 토큰을 다루지 않는다.
+    쿠키가 없는 클라이언트(API 클라이언트)는 요청 본문의 refreshToken으로 보낸다.
+     */
+    @PostMapping("/api/token")
+    public ResponseEntity<CreateAccessTokenResponse> createNewAccessToken(
+            @CookieValue(name = TokenLoginSuccessHandler.REFRESH_TOKEN_COOKIE, required = false) String refreshTokenCookie,
+            @RequestBody(required = false) CreateAccessTokenRequest request) {
+        String refreshToken = refreshTokenCookie != null ? refreshTokenCookie
+                : request == null ? null : request.getRefreshToken();
+        String newAccessToken = tokenService.createNewAccessToken(refreshToken);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new CreateAccessTokenResponse(newAccessToken));
+    }
+
+    /*
+    요청에 쓴 액세스 토큰을 폐기하고 리프레시 토큰도 지운다. (토큰 로그아웃)
+    리프레시 토큰 쿠키(Path=/api/token)가 함께 오면 그 토큰도 폐기하고, 응답에서 토큰 쿠키를 지운다.
+     */
+    @DeleteMapping("/api/token")
+    public ResponseEntity<Void> revokeToken(
+            Authentication authentication,
+            @CookieValue(name = TokenLoginSuccessHandler.REFRESH_TOKEN_COOKIE, required = false) String refreshTokenCookie,
+            HttpServletResponse response) {
+        // TokenProvider.getAutentication은 credentials에 액세스 토큰 원문을 담는다.
+        tokenService.revoke((String) authentication.getCredentials(), refreshTokenCookie);
+        TokenLoginSuccessHandler.expireCookies(response);
+
+        return ResponseEntity.noContent()
+                .build();
+    }
+
+    // 서명/만료 검증 실패, 리프레시 토큰이 아닌 토큰, 저장되어 있지 않거나 만료된 리프레시 토큰. 다시 로그인해야 한다.
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<Void> invalidToken() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+}
@@ -3,11 +3,18 @@ package me.shinsunyoung.springbootdeveloper_blog.controller;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import me.shinsunyoung.springbootdeveloper_blog.config.PasswordHashingProperties;
+import me.shinsunyoung.springbootdeveloper_blog.config.PasswordHashingRejectedException;
+import me.shinsunyoung.springbootdeveloper_blog.config.TokenLoginSuccessHandler;
 import me.shinsunyoung.springbootdeveloper_blog.dto.AddUserRequest;
 import me.shinsunyoung.springbootdeveloper_blog.service.UserService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 
@@ -16,6 +23,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 public class UserApiController {
 
     private final UserService userService;
+    private final PasswordHashingProperties passwordHashingProperties;
 
     @PostMapping("/user")
     public String signUp(AddUserRequest request) {
@@ -32,8 +40,16 @@ public class UserApiController {
     public String logout(HttpServletRequest request, HttpServletResponse response) {
         new SecurityContextLogoutHandler().logout(request, response,
                 SecurityContextHolder.getContext().getAuthentication());
+        TokenLoginSuccessHandler.expireCookies(response); // 화면이 API 호출에 쓰던 토큰 쿠키도 지운다.
 
         return "redirect:/login";
     }
 
+    // 회원 가입이 몰려 비밀번호 해시 요청이 거절된 경우. 잠시 후 다시 시도하도록 503과 Retry-After로 응답.
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<Void> passwordHashingRejected() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(passwordHashingProperties.getRetryAfterSeconds()))
+                .build();
+    }
 }
@@ -5,6 +5,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,22 +17,64 @@ import java.time.LocalDateTime;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @Entity
+/*
+update 문에 실제로 바뀐 컬럼만 넣는다. (기본값은 모든 컬럼을 다시 쓰는 고정된 update 문)
+제목만 고쳐도 본문(content) 전체를 다시 보내고 쓰지 않도록 하기 위함. 대신 바뀐 컬럼 조합마다 SQL이 달라진다.
+ */
+@DynamicUpdate
+// 목록 조회(키셋 페이지네이션)가 (created_at, id) 순서로 읽으므로 같은 순서의 복합 인덱스를 둔다.
+@Table(name = "article", indexes = @Index(name = "idx_article_created_at_id", columnList = "created_at, id"))
 public class Article {
 
+    // 목록에 보여줄 본문 발췌 길이(글자 수). 목록 조회는 본문 대신 이 길이만큼 잘라 둔 excerpt 컬럼을 읽는다.
+    public static final int EXCERPT_LENGTH = 200;
+
     /*
     JPA는 엔티티 객체 생성 후 DB로부터 주키 값을 할당하므로, final로 선언하면 안 된다.
      기본형 long을 사용하면 초기값이 0이 되고, JPA는 이를 신규 엔티티로 오인하거나, 주키 중복 오류가 발생할 가능성이 있음
+
+     IDENTITY는 insert를 실행해야 id를 알 수 있어서 Hibernate가 insert를 JDBC 배치로 묶지 못한다.
+     시퀀스를 쓰고 allocationSize만큼 id를 미리 받아 두면(pooled optimizer) insert 전에 id가 정해지므로 배치 insert가 가능하다.
+     (시퀀스는 allocationSize씩 증가하고, 그 사이의 id는 애플리케이션이 메모리에서 나눠 준다.)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_seq")
+    @SequenceGenerator(name = "article_seq", sequenceName = "article_seq", allocationSize = 50)
     @Column(name = "id", updatable = false)
     private Long id;
 
     @Column(name = "title", nullable = false)
     private String title;
 
-    @Column(name = "content", nullable = false)
-    private String content;
+    /*
+    본문은 article_content 테이블에 따로 두고 지연 로딩한다. 글을 조회해도 getContent()를 호출하기 전까지는 본문을 읽지 않는다.
+    본문이 필요한 조회(BlogRepository.findById, streamAll)는 fetch join으로 쿼리 한 번에 함께 읽는다.
+    외래 키가 article 쪽에 있어야 Hibernate가 본문을 읽지 않고 프록시만 만들어 둘 수 있다. (반대쪽이면 본문 존재 여부를 조회해야 함)
+     */
+    @Getter(AccessLevel.NONE)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true, optional = false)
+    @JoinColumn(name = "content_id", nullable = false, unique = true)
+    private ArticleContent body;
+
+    // 본문 앞부분. 목록 조회는 본문 대신 이 컬럼만 읽는다.
+    @Column(name = "excerpt", nullable = false, length = EXCERPT_LENGTH)
+    private String excerpt;
+
+    /*
+    본문의 SHA-256 해시. 본문 없이 본문이 같은지 비교할 수 있다.
+    본문만 바뀌어도 이 값이 바뀌어 article 행이 수정되므로, 버전(version)과 수정 시각(updatedAt)이 함께 갱신된다.
+     */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    /*
+    낙관적 락 버전. 수정할 때마다 Hibernate가 1씩 올리고, update 문에 "where version = 읽었을 때 값" 조건을 붙인다.
+    그 사이에 다른 트랜잭션이 먼저 수정했으면 갱신된 행이 0건이 되어 예외(OptimisticLockException)가 난다.
+    행 잠금(select ... for update)을 잡아 두지 않으므로, 읽는 쪽도 다른 편집자도 잠금을 기다리지 않는다.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 
     @CreatedDate
     @Column(name = "created_at")
@@ -44,11 +87,43 @@ public class Article {
     @Builder
     public Article(String title, String content) {
         this.title = title;
-        this.content = content;
+        setContent(content);
+    }
+
+    // 본문을 읽는다. 본문을 함께 조회하지 않았으면 이때 article_content를 조회한다. (트랜잭션 안에서만 가능)
+    public String getContent() {
+        return body.getContent();
     }
 
     public void update(String title, String content) {
         this.title  = title;
-        this.content = content;
+        setContent(content);
+    }
+
+    /*
+    null이 아닌 값만 바꾼다. (JSON Merge Patch) 실제로 값이 바뀐 필드가 있으면 true.
+    바뀐 값이 없으면 dirty checking이 update 문을 만들지 않으므로 updatedAt과 version도 그대로다.
+     */
+    public boolean patch(String title, String content) {
+        boolean changed = false;
+        if (title != null && !title.equals(this.title)) {
+            this.title = title;
+            changed = true;
+        }
+        if (content != null && !content.equals(getContent())) {
+            setContent(content);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private void setContent(String content) {
+        if (body == null) {
+            body = new ArticleContent(content);
+        } else {
+            body.update(content);
+        }
+        excerpt = content.length() > EXCERPT_LENGTH ? content.substring(0, EXCERPT_LENGTH) : content;
+        contentHash = ArticleContent.hash(content);
     }
 }
@@ -0,0 +1,61 @@
+package me.shinsunyoung.springbootdeveloper_blog.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/*
+글 본문. 제목, 작성일과 같은 행에 있으면 목록이나 버전(ETag) 조회처럼 본문이 필요 없는 조회도 본문을 함께 읽게 되므로 별도 테이블로 분리했다.
+Article.body(지연 로딩)로만 접근한다.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+@Table(name = "article_content")
+public class ArticleContent {
+
+    // 본문 최대 길이(글자 수)
+    public static final int MAX_LENGTH = 1_000_000;
+
+    /*
+    글(article)과 같은 시퀀스에서 id를 받는다.
+    본문을 분리할 때 기존 글의 id를 본문 id로 그대로 옮겼으므로(db/split-article-content.sql), 이후에 받는 id와 겹치지 않게 하기 위함.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_content_seq")
+    @SequenceGenerator(name = "article_content_seq", sequenceName = "article_seq", allocationSize = 50)
+    @Column(name = "id", updatable = false)
+    private Long id;
+
+    /*
+    긴 본문은 압축해 바이트로 저장한다. (CompressedStringConverter) 엔티티에서는 그대로 문자열이다.
+    컬럼 길이: 압축하지 않을 때 UTF-8(한 글자 최대 3바이트) + 표시 바이트 1바이트.
+     */
+    @Convert(converter = CompressedStringConverter.class)
+    @Column(name = "content", nullable = false, length = MAX_LENGTH * 3 + 1)
+    private String content;
+
+    ArticleContent(String content) {
+        this.content = content;
+    }
+
+    void update(String content) {
+        this.content = content;
+    }
+
+    // 본문의 SHA-256 해시. (UTF-8 바이트 기준, 16진수 소문자 64자)
+    public static String hash(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
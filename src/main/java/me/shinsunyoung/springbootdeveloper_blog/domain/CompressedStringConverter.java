@@ -0,0 +1,121 @@
+package me.shinsunyoung.springbootdeveloper_blog.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+긴 문자열을 압축해 바이트 컬럼에 저장하는 변환기. (ArticleContent.content)
+DB 값의 첫 바이트는 저장 방식을 나타내는 표시 바이트다.
+- RAW(0x00)     : [0x00][UTF-8]. threshold 바이트보다 짧거나, 압축해도 줄지 않는 값.
+- DEFLATE(0x01) : [0x01][UTF-8 길이(int)][Deflate 압축 데이터]. 길이를 함께 두어 읽을 때 버퍼를 한 번에 할당한다.
+- 그 외         : 압축을 도입하기 전에 저장된 UTF-8 텍스트. (표시 바이트 없음)
+  UTF-8 텍스트는 제어 문자 0x00, 0x01로 시작하지 않으므로 표시 바이트와 겹치지 않는다.
+다른 알고리즘을 쓰려면 표시 바이트를 새로 정하면 되고, 이미 저장된 값은 그대로 읽힌다.
+ */
+@Converter
+public class CompressedStringConverter implements AttributeConverter<String, byte[]> {
+
+    // 이보다 짧은(UTF-8 바이트 기준) 값은 압축하지 않는다. 짧은 값은 줄어드는 양보다 압축/해제 비용이 크다.
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    static final byte RAW = 0x00;
+    static final byte DEFLATE = 0x01;
+    private static final int DEFLATE_HEADER = 1 + Integer.BYTES;
+
+    private final int threshold;
+
+    public CompressedStringConverter() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    public CompressedStringConverter(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        byte[] utf8 = attribute.getBytes(UTF_8);
+        if (utf8.length >= threshold) {
+            byte[] compressed = deflate(utf8);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        byte[] raw = new byte[utf8.length + 1];
+        raw[0] = RAW;
+        System.arraycopy(utf8, 0, raw, 1, utf8.length);
+        return raw;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        if (dbData.length == 0) {
+            return "";
+        }
+        return switch (dbData[0]) {
+            case RAW -> new String(dbData, 1, dbData.length - 1, UTF_8);
+            case DEFLATE -> inflate(dbData);
+            default -> new String(dbData, UTF_8);
+        };
+    }
+
+    /*
+    Deflate 압축. 압축 결과(헤더 포함)가 원본 UTF-8보다 작지 않으면 null.
+    글은 요청 스레드에서 저장되므로 압축률보다 속도를 우선한다. (BEST_SPEED. 반복이 많은 마크다운은 이 단계에서도 충분히 줄어든다.)
+     */
+    private byte[] deflate(byte[] utf8) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            byte[] buffer = new byte[utf8.length];
+            int length = DEFLATE_HEADER;
+            while (!deflater.finished() && length < buffer.length) {
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            if (!deflater.finished()) {
+                return null;
+            }
+            buffer[0] = DEFLATE;
+            ByteBuffer.wrap(buffer, 1, Integer.BYTES).putInt(utf8.length);
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private String inflate(byte[] dbData) {
+        byte[] utf8 = new byte[ByteBuffer.wrap(dbData, 1, Integer.BYTES).getInt()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(dbData, DEFLATE_HEADER, dbData.length - DEFLATE_HEADER);
+            int length = 0;
+            while (length < utf8.length) {
+                int read = inflater.inflate(utf8, length, utf8.length - length);
+                if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("truncated compressed value");
+                }
+                length += read;
+            }
+            return new String(utf8, UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("corrupted compressed value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
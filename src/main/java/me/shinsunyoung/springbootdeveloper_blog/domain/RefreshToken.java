@@ -4,13 +4,20 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /*
 리프레시 토큰 데이터를 저장하는 JPA 엔티티.
 사용자의 ID와 리프레시 토큰을 저장하며, 사용자당 하나의 리프레시 토큰을 관리.
+
+토큰 원문 대신 고정 길이(64자) SHA-256 다이제스트를 저장하고 unique 인덱스로 조회한다. (TokenDigest)
+- 원문 JWT는 길이가 길고 일정하지 않아 인덱스 키로 쓰기 나쁘고, DB가 유출되면 그대로 재사용될 수 있다.
+- expires_at 인덱스: 만료된 토큰을 주기적으로 지우는 작업(RefreshTokenService.deleteExpired)이 인덱스 범위만 읽는다.
  */
 @NoArgsConstructor
 @Getter
 @Entity
+@Table(name = "refresh_token", indexes = @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at"))
 public class RefreshToken {
 
     @Id
@@ -25,18 +32,28 @@ public class RefreshToken {
     @Column(name = "user_id", nullable = false, unique = true)
     private Long userId;
 
-    @Column(name = "refresh_token", nullable = false)
-    private String refreshToken;
+    // 리프레시 토큰의 SHA-256 다이제스트(hex). unique = true로 인덱스가 만들어진다.
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
 
     // 새로운 리프레시 토큰 엔티티를 생성.
-    public RefreshToken(Long userId, String refreshToken) {
+    public RefreshToken(Long userId, String tokenHash, LocalDateTime expiresAt) {
         this.userId = userId;
-        this.refreshToken = refreshToken;
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
     }
 
     // 리프레시 토큰 값을 갱신하고, 업데이트된 엔티티를 반환.
-    public RefreshToken update(String newRefreshToken) {
-        this.refreshToken = newRefreshToken;
+    public RefreshToken update(String newTokenHash, LocalDateTime newExpiresAt) {
+        this.tokenHash = newTokenHash;
+        this.expiresAt = newExpiresAt;
         return this;
     }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
 }
@@ -0,0 +1,36 @@
+package me.shinsunyoung.springbootdeveloper_blog.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/*
+만료 전에 폐기된 액세스 토큰 목록(denylist). 토큰의 jti 클레임으로 식별한다.
+- jti unique 인덱스: 블룸 필터가 "있을 수 있다"고 답한 토큰만 이 인덱스로 확인한다. (TokenRevocationService.isRevoked)
+- expires_at: 토큰 자체의 만료 시각. 그 뒤로는 폐기 여부와 상관없이 토큰이 거절되므로 행을 지운다.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+@Table(name = "revoked_token", indexes = @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at"))
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false)
+    private Long id;
+
+    @Column(name = "jti", nullable = false, unique = true, length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public RevokedToken(String jti, LocalDateTime expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+}
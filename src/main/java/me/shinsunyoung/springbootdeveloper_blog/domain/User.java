@@ -35,6 +35,10 @@ public class User implements UserDetails {
         this.password = password;
     }
 
+    // 이미 해시된 비밀번호로 교체. (해시 강도 업그레이드용)
+    public void updatePassword(String encodedPassword) {
+        this.password = encodedPassword;
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -0,0 +1,46 @@
+package me.shinsunyoung.springbootdeveloper_blog.dto;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/*
+키셋(커서) 페이지네이션에서 "마지막으로 내려준 글"의 위치.
+정렬 키인 (created_at, id) 쌍을 URL-safe Base64로 인코딩해서, 클라이언트에게는 내용을 알 수 없는 문자열로만 노출한다.
+offset 방식과 달리 앞 페이지를 건너뛰며 읽지 않으므로 N번째 페이지도 첫 페이지와 같은 비용으로 조회된다.
+ */
+@Getter
+public class ArticleCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public ArticleCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = createdAt + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+    클라이언트가 보낸 커서 문자열을 해석. 변조되었거나 형식이 맞지 않으면 InvalidCursorException.
+     */
+    public static ArticleCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+            return new ArticleCursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
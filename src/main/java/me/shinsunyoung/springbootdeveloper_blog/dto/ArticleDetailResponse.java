@@ -0,0 +1,32 @@
+package me.shinsunyoung.springbootdeveloper_blog.dto;
+
+import lombok.Getter;
+import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
+
+import java.time.LocalDateTime;
+
+/*
+글 상세 조회 결과. BlogService.findById의 캐시에 그대로 저장되는 값이다.
+여러 요청이 같은 인스턴스를 공유하므로 영속 엔티티가 아닌 불변 스냅샷(모든 필드 final, setter 없음)으로 둔다.
+ */
+@Getter
+public class ArticleDetailResponse {
+
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final String contentHash;
+    private final Long version;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public ArticleDetailResponse(Article article) {
+        this.id = article.getId();
+        this.title = article.getTitle();
+        this.content = article.getContent();
+        this.contentHash = article.getContentHash();
+        this.version = article.getVersion();
+        this.createdAt = article.getCreatedAt();
+        this.updatedAt = article.getUpdatedAt();
+    }
+}
@@ -0,0 +1,28 @@
+package me.shinsunyoung.springbootdeveloper_blog.dto;
+
+import lombok.Getter;
+import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
+
+import java.time.LocalDateTime;
+
+/*
+백업/미러링용 내보내기(NDJSON) 한 줄에 해당하는 응답.
+복원할 때 필요한 식별자와 작성/수정 시각까지 모두 담는다.
+ */
+@Getter
+public class ArticleExportResponse {
+
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public ArticleExportResponse(Article article) {
+        this.id = article.getId();
+        this.title = article.getTitle();
+        this.content = article.getContent();
+        this.createdAt = article.getCreatedAt();
+        this.updatedAt = article.getUpdatedAt();
+    }
+}
@@ -3,16 +3,31 @@ package me.shinsunyoung.springbootdeveloper_blog.dto;
 import lombok.Getter;
 import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
 
+import java.time.LocalDateTime;
+
 @Getter
 public class ArticleListViewResponse {
 
     private final Long id;
     private final String title;
-    private final String content;
+    private final String content; // 목록에서는 본문 앞부분(발췌)만 담긴다.
+    private final LocalDateTime createdAt;
 
     public ArticleListViewResponse(Article article) {
         this.id = article.getId();
         this.title = article.getTitle();
         this.content = article.getContent();
+        this.createdAt = article.getCreatedAt();
+    }
+
+    /*
+    BlogRepository의 프로젝션 쿼리(select new ...)가 사용하는 생성자.
+    엔티티를 거치지 않고 필요한 컬럼만 바로 DTO로 받는다.
+     */
+    public ArticleListViewResponse(Long id, String title, String content, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.createdAt = createdAt;
     }
 }
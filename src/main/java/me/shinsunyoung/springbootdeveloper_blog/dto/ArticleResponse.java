@@ -3,14 +3,28 @@ package me.shinsunyoung.springbootdeveloper_blog.dto;
 import lombok.Getter;
 import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
 
+import java.time.LocalDateTime;
+
 @Getter
 public class ArticleResponse {
 
-    private String title;
-    private String content;
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final LocalDateTime createdAt;
 
     public ArticleResponse(Article article) {
+        this.id = article.getId();
         this.title = article.getTitle();
         this.content = article.getContent();
+        this.createdAt = article.getCreatedAt();
+    }
+
+    // BlogRepository의 프로젝션 쿼리(select new ...)가 사용하는 생성자. 목록 조회에서는 content에 발췌만 담긴다.
+    public ArticleResponse(Long id, String title, String content, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.createdAt = createdAt;
     }
 }
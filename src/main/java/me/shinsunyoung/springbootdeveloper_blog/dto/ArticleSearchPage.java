@@ -0,0 +1,21 @@
+package me.shinsunyoung.springbootdeveloper_blog.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/*
+관련도 순으로 정렬된 검색 결과 한 페이지.
+totalHits는 전체 일치 건수. 일치 건수가 많으면 정확히 세지 않고 하한값만 계산한다. (Lucene TotalHits 참고)
+ */
+@Getter
+public class ArticleSearchPage {
+
+    private final List<ArticleSearchResponse> content;
+    private final long totalHits;
+
+    public ArticleSearchPage(List<ArticleSearchResponse> content, long totalHits) {
+        this.content = content;
+        this.totalHits = totalHits;
+    }
+}
@@ -0,0 +1,25 @@
+package me.shinsunyoung.springbootdeveloper_blog.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/*
+검색 결과 한 건. 색인에 저장된 값만으로 만들어지므로 DB를 조회하지 않는다.
+score가 높을수록 검색어와 관련이 높다. (제목 일치가 본문 일치보다 가중치가 크다.)
+ */
+@Getter
+public class ArticleSearchResponse {
+
+    private final Long id;
+    private final String title;
+    private final LocalDateTime createdAt;
+    private final float score;
+
+    public ArticleSearchResponse(Long id, String title, LocalDateTime createdAt, float score) {
+        this.id = id;
+        this.title = title;
+        this.createdAt = createdAt;
+        this.score = score;
+    }
+}
@@ -0,0 +1,68 @@
+package me.shinsunyoung.springbootdeveloper_blog.dto;
+
+import lombok.Getter;
+import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/*
+글의 현재 버전. 조건부 요청(If-None-Match, If-Modified-Since, If-Match)을 판단할 때 본문 대신 이 값만 조회한다.
+글이 수정되면 version(Article의 낙관적 락 버전)과 updatedAt이 바뀌므로 ETag와 Last-Modified도 함께 바뀐다.
+ */
+@Getter
+public class ArticleVersion {
+
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+
+    // BlogRepository의 프로젝션 쿼리(select new ...)가 사용하는 생성자
+    public ArticleVersion(Long id, Long version, LocalDateTime updatedAt) {
+        this.id = id;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public ArticleVersion(ArticleDetailResponse article) {
+        this(article.getId(), article.getVersion(), article.getUpdatedAt());
+    }
+
+    public ArticleVersion(Article article) {
+        this(article.getId(), article.getVersion(), article.getUpdatedAt());
+    }
+
+    /*
+    강한(strong) ETag. "id-버전"
+    버전은 수정할 때마다 1씩 오르므로, 1초 안에 여러 번 수정돼도(Last-Modified는 초 단위) 모두 구분된다.
+    PUT의 If-Match로 돌아오면 versionOf로 버전을 꺼내 낙관적 락 비교에 쓴다.
+     */
+    public String getETag() {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    // Last-Modified 헤더 값(epoch millis). 수정 시각이 없으면 -1. (헤더를 쓰지 않음)
+    public long getLastModified() {
+        if (updatedAt == null) {
+            return -1;
+        }
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * If-Match 헤더 값에서 글 id의 버전을 꺼낸다.
+     * 이 글의 강한 ETag 형식("id-버전")이 아니면(약한 ETag, 다른 글의 ETag, 목록 등) 어떤 버전과도 일치하지 않도록 -1을 반환한다.
+     */
+    public static long versionOf(long id, String eTag) {
+        String prefix = "\"" + id + "-";
+        String value = eTag.trim();
+        if (!value.startsWith(prefix) || !value.endsWith("\"") || value.length() <= prefix.length() + 1) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.substring(prefix.length(), value.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package me.shinsunyoung.springbootdeveloper_blog.dto;
 
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
 
 import java.time.LocalDateTime;
 
@@ -13,12 +12,22 @@ public class ArticleViewResponse {
     private Long id;
     private String title;
     private String content;
+    // 본문을 마크다운으로 렌더링한 HTML. 글 상세 화면에서만 채운다. (수정 화면은 content 원문을 쓴다)
+    private String contentHtml;
     private LocalDateTime createdAt;
+    // 수정 화면이 PUT 요청의 If-Match로 보내는 값. 편집하는 동안 다른 사람이 수정했으면 덮어쓰지 않는다.
+    private String eTag;
 
-    public ArticleViewResponse(Article article) {
+    public ArticleViewResponse(ArticleDetailResponse article) {
         this.id = article.getId();
         this.title = article.getTitle();
         this.content = article.getContent();
         this.createdAt = article.getCreatedAt();
+        this.eTag = new ArticleVersion(article).getETag();
+    }
+
+    public ArticleViewResponse(ArticleDetailResponse article, String contentHtml) {
+        this(article);
+        this.contentHtml = contentHtml;
     }
 }
@@ -0,0 +1,12 @@
+package me.shinsunyoung.springbootdeveloper_blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class CreateAccessTokenResponse {
+
+    private String accessToken;
+
+}
@@ -0,0 +1,42 @@
+package me.shinsunyoung.springbootdeveloper_blog.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/*
+커서 기반으로 조회한 한 페이지 분량의 결과.
+nextCursor가 null이면 마지막 페이지.
+ */
+@Getter
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * pageSize + 1건을 조회한 결과로 페이지를 만든다.
+     * 한 건이 더 조회됐다면 다음 페이지가 있다는 뜻이므로, 이번 페이지의 마지막 행으로 다음 커서를 만든다.
+     *
+     * @param rows     pageSize + 1건까지 조회한 결과
+     * @param pageSize 클라이언트에게 내려줄 최대 건수
+     * @param cursorOf 행에서 정렬 키(created_at, id)를 꺼내는 함수
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, ArticleCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = List.copyOf(rows.subList(0, pageSize));
+        return new CursorPage<>(content, cursorOf.apply(content.get(pageSize - 1)).encode());
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
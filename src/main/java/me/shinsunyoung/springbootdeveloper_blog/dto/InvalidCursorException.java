@@ -0,0 +1,12 @@
+package me.shinsunyoung.springbootdeveloper_blog.dto;
+
+/*
+클라이언트가 보낸 커서(cursor 파라미터)가 변조되었거나 형식이 맞지 않을 때 발생. (ArticleCursor.decode)
+요청 값이 잘못된 것이므로 컨트롤러에서 400으로 응답한다.
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String cursor) {
+        super("invalid cursor: " + cursor);
+    }
+}
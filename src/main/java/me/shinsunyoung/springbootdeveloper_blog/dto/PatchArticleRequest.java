@@ -0,0 +1,18 @@
+package me.shinsunyoung.springbootdeveloper_blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+글 일부 수정 요청. (PATCH, JSON Merge Patch)
+요청에 없는 필드는 바꾸지 않는다. title, content는 비울 수 없는 값이므로 null도 "바꾸지 않음"으로 본다.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class PatchArticleRequest {
+
+    private String title;
+    private String content;
+}
@@ -0,0 +1,26 @@
+package me.shinsunyoung.springbootdeveloper_blog.dto;
+
+import lombok.Getter;
+
+/*
+템플릿 렌더링이 끝난 HTML 한 페이지. 화면 캐시(CacheConfig.ARTICLE_PAGES, ARTICLE_LIST_PAGES)에 저장되는 값이다.
+version이 현재 버전과 같을 때만 그대로 응답하고, 다르면 다시 렌더링한다.
+ */
+@Getter
+public class RenderedPage {
+
+    private final String version;
+    private final String contentType;
+    private final byte[] body;
+
+    public RenderedPage(String version, String contentType, byte[] body) {
+        this.version = version;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    // 캐시 크기(바이트) 계산용. 본문 외의 필드는 작으므로 대략적인 값만 더한다.
+    public int weight() {
+        return body.length + version.length() * 2 + 64;
+    }
+}
@@ -1,11 +1,98 @@
 package me.shinsunyoung.springbootdeveloper_blog.repository;
 
+import jakarta.persistence.QueryHint;
 import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleListViewResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleVersion;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /*
 @Repository 붙이지 않아도, JpaRepository를 상속받은 인터페이스는 Spring Data JPA가 자동으로 프록시 객체를 생성하고, Spring 컨테이너에 빈으로 등록
  */
 //@Repository
 public interface BlogRepository extends JpaRepository<Article, Long> {
+
+    // 내보내기 스트림에서 JDBC 드라이버가 한 번에 가져올 행 수
+    String EXPORT_FETCH_SIZE = "500";
+
+    /*
+    목록용 프로젝션. 엔티티 대신 id, title, 발췌, createdAt만 골라 DTO 생성자로 바로 받는다.
+    결과가 엔티티가 아니므로 영속성 컨텍스트에 올라가지 않고, dirty checking용 스냅샷도 만들지 않는다.
+    발췌는 article 행의 excerpt 컬럼이므로 본문 테이블(article_content)은 읽지 않는다.
+     */
+    String LIST_VIEW_PROJECTION = "select new me.shinsunyoung.springbootdeveloper_blog.dto.ArticleListViewResponse(" +
+            "a.id, a.title, a.excerpt, a.createdAt) from Article a ";
+    String RESPONSE_PROJECTION = "select new me.shinsunyoung.springbootdeveloper_blog.dto.ArticleResponse(" +
+            "a.id, a.title, a.excerpt, a.createdAt) from Article a ";
+
+    /*
+    키셋 페이지네이션 조건. 커서(마지막으로 내려준 글의 created_at, id) 다음 위치부터 읽는다.
+    OFFSET을 쓰지 않으므로 몇 번째 페이지든 (created_at, id) 인덱스 탐색 한 번으로 시작 위치를 찾는다.
+    반환 타입이 Page가 아니라 List이므로 count 쿼리는 실행되지 않고, Pageable은 LIMIT으로만 사용된다.
+     */
+    String AFTER_CURSOR = "where a.createdAt > :createdAt or (a.createdAt = :createdAt and a.id > :id) ";
+    String KEYSET_ORDER = "order by a.createdAt asc, a.id asc";
+
+    @Query(LIST_VIEW_PROJECTION + KEYSET_ORDER)
+    List<ArticleListViewResponse> findListViewFirstPage(Pageable pageable);
+
+    @Query(LIST_VIEW_PROJECTION + AFTER_CURSOR + KEYSET_ORDER)
+    List<ArticleListViewResponse> findListViewPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") Long id, Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + KEYSET_ORDER)
+    List<ArticleResponse> findResponseFirstPage(Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + AFTER_CURSOR + KEYSET_ORDER)
+    List<ArticleResponse> findResponsePageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id, Pageable pageable);
+
+    // 본문까지 쿼리 한 번으로 조회. (상세 조회, 수정)
+    @EntityGraph(attributePaths = "body")
+    @Override
+    Optional<Article> findById(Long id);
+
+    @EntityGraph(attributePaths = "body")
+    @Override
+    List<Article> findAll();
+
+    // 삭제용. 본문을 읽지 않고 본문 행의 id(외래 키 값)만 조회한다.
+    @Query("select a.body.id from Article a where a.id = :id")
+    Optional<Long> findContentIdById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from ArticleContent c where c.id = :id")
+    void deleteContentById(@Param("id") Long id);
+
+    // 조건부 요청(ETag) 확인용. 본문(content)을 읽지 않고 id, 버전, 수정 시각만 조회한다.
+    @Query("select new me.shinsunyoung.springbootdeveloper_blog.dto.ArticleVersion(a.id, a.version, a.updatedAt) " +
+            "from Article a where a.id = :id")
+    Optional<ArticleVersion> findVersionById(@Param("id") Long id);
+
+    /*
+    전체 글을 JDBC 커서로 조금씩 읽어 오는 스트림. 결과를 List로 모으지 않는다.
+    - fetchSize: 드라이버가 한 번에 EXPORT_FETCH_SIZE 행씩만 가져오도록 지정.
+    - readOnly: 읽기 전용 엔티티로 로딩해 dirty checking용 스냅샷을 만들지 않는다.
+    - 본문(body)을 fetch join으로 함께 읽는다. 글마다 본문 조회가 따로 나가지 않는다.
+    반드시 트랜잭션 안에서 사용하고, 다 쓴 뒤에는 close 해야 한다. (try-with-resources)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Article a join fetch a.body order by a.id asc")
+    Stream<Article> streamAll();
 }
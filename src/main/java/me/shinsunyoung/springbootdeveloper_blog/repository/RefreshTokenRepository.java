@@ -1,13 +1,39 @@
 package me.shinsunyoung.springbootdeveloper_blog.repository;
 
 import me.shinsunyoung.springbootdeveloper_blog.domain.RefreshToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 // JpaRepository 상속받았으므로 @Repository 붙이지 않아도 Spring Data JPA가 자동으로 스프링 빈으로 등록.
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByUserId(Long userId);
 
-    Optional<RefreshToken> findByRefreshToken(String refreshToken);
+    void deleteByUserId(Long userId);
+
+    // token_hash unique 인덱스로 조회. 인자는 토큰 원문이 아닌 다이제스트(TokenDigest.sha256Hex).
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /*
+    만료된 토큰의 id를 pageable 크기만큼만 조회. (expires_at 인덱스 범위 조회)
+    JPQL delete에는 LIMIT을 쓸 수 없으므로, id를 먼저 나눠 가져와 deleteExpiredByIds로 지운다.
+     */
+    @Query("select r.id from RefreshToken r where r.expiresAt <= :now")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /*
+    ids 중 아직 만료 상태인 행만 삭제하고 삭제한 행 수를 반환. 호출마다 트랜잭션 하나로 커밋한다.
+    조회와 삭제 사이에 같은 사용자가 다시 로그인해 행이 새 토큰으로 바뀌었으면(RefreshTokenService.issue), 만료 조건에 걸리지 않아 지워지지 않는다.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.id in :ids and r.expiresAt <= :now")
+    int deleteExpiredByIds(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
 }
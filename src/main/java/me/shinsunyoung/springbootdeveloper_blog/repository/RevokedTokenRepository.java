@@ -0,0 +1,25 @@
+package me.shinsunyoung.springbootdeveloper_blog.repository;
+
+import me.shinsunyoung.springbootdeveloper_blog.domain.RevokedToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // jti unique 인덱스로 확인.
+    boolean existsByJti(String jti);
+
+    // 아직 만료되지 않은 폐기 토큰의 jti. 블룸 필터를 새로 만들 때 사용. 트랜잭션 안에서 호출하고 스트림을 닫아야 한다.
+    @Query("select r.jti from RevokedToken r where r.expiresAt > :now")
+    Stream<String> streamActiveJtis(@Param("now") LocalDateTime now);
+
+    // 만료된 행의 id를 pageable 크기만큼만 조회. (RefreshTokenRepository.findExpiredIds와 같은 방식)
+    @Query("select r.id from RevokedToken r where r.expiresAt <= :now")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
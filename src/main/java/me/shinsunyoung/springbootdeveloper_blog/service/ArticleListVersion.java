@@ -0,0 +1,35 @@
+package me.shinsunyoung.springbootdeveloper_blog.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+글 목록의 전역 버전. 글이 저장/수정/삭제될 때마다 (트랜잭션 안이면 커밋된 뒤에) 1씩 증가한다.
+목록 화면 캐시(CacheConfig.ARTICLE_LIST_PAGES)는 렌더링 "전에" 읽은 버전을 함께 저장하고, 현재 버전과 같을 때만 재사용한다.
+렌더링 도중에 커밋된 변경이 있으면 그 페이지는 이전 버전으로 저장되므로 다시 쓰이지 않는다.
+ */
+@Component
+public class ArticleListVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public void increment() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+}
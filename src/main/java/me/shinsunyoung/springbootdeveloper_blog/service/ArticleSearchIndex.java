@@ -0,0 +1,277 @@
+package me.shinsunyoung.springbootdeveloper_blog.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleSearchPage;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleSearchResponse;
+import me.shinsunyoung.springbootdeveloper_blog.repository.BlogRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/*
+글 제목/본문 전문 검색용 역색인. (Lucene)
+LIKE '%검색어%'는 인덱스를 쓰지 못해 매번 테이블 전체를 읽지만, 역색인은 검색어가 들어 있는 글 목록을 바로 찾는다.
+
+- 색인: BlogService의 저장/수정/삭제 때마다 해당 글 한 건만 갱신한다. 트랜잭션 안에서 호출되면 커밋된 뒤에 반영한다.
+  검색에는 바로 보이지만(refresh), 디스크에는 주기적으로(search.commit-interval) commit할 때 남는다.
+  색인 반영에 실패해도 이미 커밋된 글 저장은 실패로 돌리지 않는다. 로그만 남기고, 색인은 재구축으로 맞춘다.
+- 재구축: 기동 시(search.rebuild-on-startup) DB 전체를 스트림으로 읽어 색인을 새로 만든다.
+- 분석기: CJKAnalyzer. 한글은 두 글자씩(바이그램) 잘라 색인하므로 조사가 붙은 단어도 검색된다.
+- 검색: 색인에 저장해 둔 id, 제목, 작성일만으로 결과를 만들어 DB를 조회하지 않는다. 본문은 저장하지 않고 색인만 한다.
+ */
+@Slf4j
+@Component
+public class ArticleSearchIndex {
+
+    // page * size가 이 값을 넘는 깊은 페이지는 조회하지 않는다. (앞 페이지 결과를 모두 정렬해야 하므로)
+    public static final int MAX_RESULT_WINDOW = 1000;
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final String CREATED_AT = "createdAt";
+    private static final Set<String> STORED_FIELDS = Set.of(ID, TITLE, CREATED_AT);
+
+    // 제목에 일치하는 글이 본문에만 일치하는 글보다 위에 오도록 가중치를 둔다.
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITLE, 2.0f, CONTENT, 1.0f);
+
+    private final BlogRepository blogRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean rebuildOnStartup;
+
+    private final Analyzer analyzer = new CJKAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    // IndexWriter에서 바로 검색기를 여는 NRT(near real-time) 방식. 변경 후 commit 없이 refresh만으로 검색에 반영된다.
+    private final SearcherManager searcherManager;
+
+    public ArticleSearchIndex(BlogRepository blogRepository, EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${search.index-path:}") String indexPath,
+                              @Value("${search.rebuild-on-startup:true}") boolean rebuildOnStartup) throws IOException {
+        this.blogRepository = blogRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildOnStartup = rebuildOnStartup;
+
+        this.directory = StringUtils.hasText(indexPath) ? FSDirectory.open(Path.of(indexPath)) : new ByteBuffersDirectory();
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * 글 한 건을 색인에 추가하거나 교체한다. 호출 시점의 제목/본문으로 문서를 만든다.
+     */
+    public void index(Article article) {
+        Document document = toDocument(article);
+        Term id = idTerm(article.getId());
+        afterCommit(() -> writer.updateDocument(id, document));
+    }
+
+    // 여러 글을 한 번에 색인. 검색기 refresh도 한 번만 한다. (일괄 등록용)
+    public void indexAll(List<Article> articles) {
+        List<Document> documents = articles.stream().map(this::toDocument).toList();
+        afterCommit(() -> {
+            for (Document document : documents) {
+                writer.updateDocument(new Term(ID, document.get(ID)), document);
+            }
+        });
+    }
+
+    public void delete(long id) {
+        Term term = idTerm(id);
+        afterCommit(() -> writer.deleteDocuments(term));
+    }
+
+    /**
+     * 제목과 본문에서 검색어를 모두 포함하는 글을 관련도 순으로 조회.
+     * 검색어 문법은 SimpleQueryParser를 따른다. ("구문 검색", -제외, a | b) 문법 오류로 예외가 나지 않는다.
+     *
+     * @param query 검색어
+     * @param page  0부터 시작하는 페이지 번호
+     * @param size  페이지 크기
+     */
+    public ArticleSearchPage search(String query, int page, int size) {
+        if (!StringUtils.hasText(query)) {
+            throw new IllegalArgumentException("empty query");
+        }
+        if (page < 0 || (long) (page + 1) * size > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("page out of range: " + page);
+        }
+
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query parsed = parser.parse(query);
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(parsed, (page + 1) * size);
+                StoredFields storedFields = searcher.storedFields();
+
+                List<ArticleSearchResponse> content = new ArrayList<>();
+                for (int i = page * size; i < topDocs.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                    content.add(toResponse(storedFields.document(scoreDoc.doc, STORED_FIELDS), scoreDoc.score));
+                }
+                return new ArticleSearchPage(content, topDocs.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+    DB 전체를 읽어 색인을 처음부터 다시 만든다. 글을 한 건씩 읽고 바로 detach하므로 글 수와 상관없이 힙 사용량이 일정하다.
+    재구축이 끝나고 refresh할 때까지 검색은 이전 색인을 그대로 본다.
+     */
+    public void rebuild() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Article> articles = blogRepository.streamAll()) {
+                writer.deleteAll();
+                articles.forEach(article -> {
+                    apply(() -> writer.updateDocument(idTerm(article.getId()), toDocument(article)));
+                    entityManager.detach(article);
+                });
+                writer.commit();
+                searcherManager.maybeRefreshBlocking();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /*
+    마지막 commit 이후의 변경을 디스크에 남긴다. (search.commit-interval, 기본 1분)
+    commit은 파일을 fsync하므로 변경마다 하지 않고 모아서 한다. 비정상 종료 시에는 이 주기만큼의 변경을 잃을 수 있다.
+     */
+    @Scheduled(fixedDelayString = "${search.commit-interval:PT1M}",
+            initialDelayString = "${search.commit-interval:PT1M}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close(); // 남은 변경을 commit하고 닫는다.
+        directory.close();
+    }
+
+    // 현재 트랜잭션이 있으면 커밋된 뒤에, 없으면 바로 색인에 반영. 롤백된 변경은 색인에 남지 않는다.
+    private void afterCommit(IndexOperation operation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyAndRefresh(operation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyAndRefresh(operation);
+            }
+        });
+    }
+
+    // DB에는 이미 반영됐으므로 예외를 던져 요청을 실패시키지 않는다.
+    private void applyAndRefresh(IndexOperation operation) {
+        try {
+            apply(operation);
+            refresh();
+        } catch (UncheckedIOException e) {
+            log.error("failed to update search index; rebuild the index to recover", e);
+        }
+    }
+
+    private void apply(IndexOperation operation) {
+        try {
+            operation.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 변경한 요청이 바로 이어서 검색해도 결과에 보이도록, 새 검색기가 열릴 때까지 기다린다.
+    private void refresh() {
+        apply(searcherManager::maybeRefreshBlocking);
+    }
+
+    private Document toDocument(Article article) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(article.getId()), Field.Store.YES));
+        document.add(new TextField(TITLE, article.getTitle(), Field.Store.YES));
+        document.add(new TextField(CONTENT, article.getContent(), Field.Store.NO));
+        if (article.getCreatedAt() != null) {
+            document.add(new StoredField(CREATED_AT, article.getCreatedAt().toString()));
+        }
+        return document;
+    }
+
+    private ArticleSearchResponse toResponse(Document document, float score) {
+        String createdAt = document.get(CREATED_AT);
+        return new ArticleSearchResponse(Long.valueOf(document.get(ID)), document.get(TITLE),
+                createdAt == null ? null : LocalDateTime.parse(createdAt), score);
+    }
+
+    private Term idTerm(long id) {
+        return new Term(ID, String.valueOf(id));
+    }
+
+    @FunctionalInterface
+    private interface IndexOperation {
+        void run() throws IOException;
+    }
+}
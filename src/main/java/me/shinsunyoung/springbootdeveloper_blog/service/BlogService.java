@@ -1,46 +1,292 @@
 package me.shinsunyoung.springbootdeveloper_blog.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import me.shinsunyoung.springbootdeveloper_blog.config.CacheConfig;
+import me.shinsunyoung.springbootdeveloper_blog.config.ReadFromPrimary;
 import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
 import me.shinsunyoung.springbootdeveloper_blog.dto.AddArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleCursor;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleDetailResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleExportResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleListViewResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleSearchPage;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleVersion;
+import me.shinsunyoung.springbootdeveloper_blog.dto.CursorPage;
+import me.shinsunyoung.springbootdeveloper_blog.dto.PatchArticleRequest;
 import me.shinsunyoung.springbootdeveloper_blog.dto.UpdateArticleRequest;
 import me.shinsunyoung.springbootdeveloper_blog.repository.BlogRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+/*
+public 메서드마다 실행 시간과 횟수를 잰다. (blog.service, class/method/exception 태그)
+같은 클래스 안에서 호출한 메서드는 프록시를 거치지 않으므로 따로 재지 않는다.
+ */
+@Timed(value = "blog.service", description = "BlogService method execution time")
 @RequiredArgsConstructor
 @Service
 public class BlogService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    // 일괄 등록 한 번에 받을 수 있는 최대 글 수
+    public static final int MAX_BATCH_SIZE = 10_000;
+    // application.yml의 hibernate.jdbc.batch_size와 같은 값
+    private static final int JDBC_BATCH_SIZE = 50;
+
     private final BlogRepository blogRepository;
+    private final EntityManager entityManager;
+    private final ArticleSearchIndex searchIndex;
+    private final ArticleListVersion listVersion;
 
     public Article save(AddArticleRequest request) {
-        return blogRepository.save(request.toEntity());
+        Article article = blogRepository.save(request.toEntity());
+        searchIndex.index(article);
+        listVersion.increment();
+        return article;
+    }
+
+    /**
+     * 여러 글을 한 트랜잭션으로 등록. (대량 이관용)
+     * insert는 JDBC_BATCH_SIZE건씩 묶여 한 번의 왕복으로 전송되고(시퀀스 id, hibernate.jdbc.batch_size),
+     * 그때마다 영속성 컨텍스트를 비워 글 수가 많아도 메모리 사용량이 늘지 않는다.
+     * 검색 색인은 커밋된 뒤 한 번에 반영한다.
+     *
+     * @param requests 등록할 글 목록. 최대 MAX_BATCH_SIZE건.
+     * @return 등록된 글 (영속성 컨텍스트에서 분리된 상태)
+     */
+    @Transactional
+    public List<Article> saveAll(List<AddArticleRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("too many articles: " + requests.size());
+        }
+
+        List<Article> articles = new ArrayList<>(requests.size());
+        for (AddArticleRequest request : requests) {
+            Article article = request.toEntity();
+            entityManager.persist(article);
+            articles.add(article);
+            if (articles.size() % JDBC_BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        searchIndex.indexAll(articles);
+        listVersion.increment();
+        return articles;
     }
 
+    /*
+    조회 메서드는 읽기 전용 트랜잭션으로 실행한다.
+    - 복제본이 설정되어 있으면 복제본에서 읽는다. (DataSourceRoutingConfig)
+    - Hibernate가 flush하지 않고, 로딩한 엔티티의 dirty checking용 스냅샷도 만들지 않는다.
+    단, 상세 캐시를 채우는 findById와 ETag를 만드는 findVersion은 원본에서 읽는다. (각 메서드 주석 참고)
+     */
+    @Transactional(readOnly = true)
     public List<Article> findAll() {
         return blogRepository.findAll();
     }
 
-    public Article findById(long id) {
-        return blogRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("not found: " + id));
+    /**
+     * (created_at, id) 기준 키셋 페이지네이션으로 API용 글 목록 한 페이지를 조회.
+     * 엔티티를 로딩하지 않고 프로젝션 쿼리로 필요한 컬럼만 DTO로 바로 받는다.
+     *
+     * @param cursor 이전 페이지 응답으로 받은 커서. null이거나 비어 있으면 첫 페이지.
+     * @param size   페이지 크기. null이면 DEFAULT_PAGE_SIZE, 1 ~ MAX_PAGE_SIZE 범위로 보정됨.
+     * @return 글 목록과 다음 페이지 커서(마지막 페이지면 null)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ArticleResponse> findArticlePage(String cursor, Integer size) {
+        return findPage(cursor, size,
+                blogRepository::findResponseFirstPage,
+                (after, limit) -> blogRepository.findResponsePageAfter(after.getCreatedAt(), after.getId(), limit),
+                article -> new ArticleCursor(article.getCreatedAt(), article.getId()));
+    }
+
+    // 목록 화면(/articles)용. findArticlePage와 같은 방식으로 ArticleListViewResponse를 조회.
+    @Transactional(readOnly = true)
+    public CursorPage<ArticleListViewResponse> findListViewPage(String cursor, Integer size) {
+        return findPage(cursor, size,
+                blogRepository::findListViewFirstPage,
+                (after, limit) -> blogRepository.findListViewPageAfter(after.getCreatedAt(), after.getId(), limit),
+                article -> new ArticleCursor(article.getCreatedAt(), article.getId()));
+    }
+
+    /**
+     * 전체 글을 DB 커서로 한 건씩 읽어 consumer에 넘긴다. (백업/미러링용 내보내기)
+     * 넘긴 엔티티는 바로 영속성 컨텍스트에서 분리(detach)하므로, 글이 아무리 많아도 힙 사용량이 늘지 않는다.
+     *
+     * @param consumer 글 한 건씩 받아 처리하는 함수. (ex. 응답 스트림에 한 줄씩 쓰기)
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<ArticleExportResponse> consumer) {
+        try (Stream<Article> articles = blogRepository.streamAll()) {
+            articles.forEach(article -> {
+                consumer.accept(new ArticleExportResponse(article));
+                entityManager.detach(article);
+            });
+        }
+    }
+
+    /*
+    글 상세 조회. 자주 읽히는 글은 DB를 거치지 않도록 캐시(CacheConfig.ARTICLES)에 불변 스냅샷으로 보관한다.
+    없는 글(예외)은 캐시하지 않는다. 수정/삭제 시 update(), delete()에서 해당 글을 캐시에서 제거한다.
+
+    sync = true: 캐시에 없는 같은 id를 여러 요청이 동시에 조회하면 한 요청만 DB를 조회하고 나머지는 그 결과를 기다려 함께 쓴다.
+    (Caffeine의 get(key, loader)를 사용. 로딩 중인 키에 대한 evict는 로딩이 끝난 뒤에 적용되므로,
+     수정 전 값을 읽던 로딩이 evict보다 늦게 캐시에 남는 일은 없다.)
+
+    원본에서 읽는다(@ReadFromPrimary). 수정 직후(evict 직후)의 첫 조회가 복제 지연 때문에 복제본에서 이전 글을 읽으면,
+    그 스냅샷이 캐시 만료 시각까지 남아 수정한 글이 보이지 않게 된다. 캐시에 적중하는 대부분의 조회는 DB를 거치지 않는다.
+     */
+    @Cacheable(cacheNames = CacheConfig.ARTICLES, key = "#id", sync = true)
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    public ArticleDetailResponse findById(long id) {
+        return blogRepository.findById(id)
+                .map(ArticleDetailResponse::new)
+                .orElseThrow(() -> new IllegalArgumentException("not found: " + id));
+    }
+
+    /*
+    글의 현재 버전(id, 수정 시각)만 조회. 조건부 요청에서 304로 끝날 때는 본문을 읽지 않는다.
+    ETag는 If-Match(수정 충돌 확인)에도 쓰이므로 원본에서 읽는다. 복제본의 이전 버전을 내주면 수정 요청이 412로 거절된다.
+     */
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    public ArticleVersion findVersion(long id) {
+        return blogRepository.findVersionById(id)
+                .orElseThrow(() -> new IllegalArgumentException("not found: " + id));
     }
 
+    /**
+     * 제목/본문 전문 검색. 관련도 순으로 page번째 페이지를 조회한다. (ArticleSearchIndex 참고)
+     *
+     * @param query 검색어
+     * @param page  0부터 시작하는 페이지 번호. null이면 0.
+     * @param size  페이지 크기. null이면 DEFAULT_PAGE_SIZE, 1 ~ MAX_PAGE_SIZE 범위로 보정됨.
+     */
+    public ArticleSearchPage search(String query, Integer page, Integer size) {
+        return searchIndex.search(query, page == null ? 0 : page, normalizePageSize(size));
+    }
+
+    // 목록 화면 캐시(CacheConfig.ARTICLE_LIST_PAGES)의 현재 버전. (ArticleListVersion 참고)
+    public long getListVersion() {
+        return listVersion.current();
+    }
+
+    /*
+    글과 본문을 삭제. 없는 글이면 아무것도 하지 않는다.
+    엔티티를 로딩해 remove하면 cascade를 위해 본문까지 읽으므로, 본문 id(외래 키 값)만 조회한 뒤 두 행을 바로 지운다.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ARTICLES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ARTICLE_PAGES, key = "#id")
+    })
+    @Transactional
     public void delete(long id) {
-//        blogRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Article with id " + id + "does not exist."));
-        blogRepository.deleteById(id);
+        blogRepository.findContentIdById(id).ifPresent(contentId -> {
+            blogRepository.deleteAllByIdInBatch(List.of(id));
+            blogRepository.deleteContentById(contentId); // 글이 본문을 참조하므로 글 다음에 지운다.
+        });
+        searchIndex.delete(id);
+        listVersion.increment();
     }
 
+    /**
+     * 글 수정. 커밋 이후에 캐시에서 제거된다. (CacheConfig 참고)
+     * 동시에 수정하면 먼저 커밋한 쪽만 반영되고, 나머지는 커밋할 때 버전이 맞지 않아 실패한다. (Article.version 참고)
+     *
+     * @param expectedVersion 클라이언트가 읽었던 버전(If-Match). null이면 비교하지 않는다.
+     * @throws ObjectOptimisticLockingFailureException 현재 버전이 expectedVersion과 다르거나, 그 사이에 다른 수정이 먼저 커밋된 경우
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ARTICLES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ARTICLE_PAGES, key = "#id")
+    })
     @Transactional
-    public Article update(Long id, UpdateArticleRequest updateRequest) {
+    public Article update(Long id, UpdateArticleRequest updateRequest, Long expectedVersion) {
 
-        Article article = blogRepository.findById(id).
-                orElseThrow(() -> new IllegalArgumentException("not found: " + id));
+        Article article = findForUpdate(id, expectedVersion);
 
         article.update(updateRequest.getTitle(), updateRequest.getContent());
+        searchIndex.index(article);
+        listVersion.increment();
+
+        return article;
+    }
 
+    /**
+     * 글 일부 수정. 요청에 있는(null이 아닌) 필드만 바꾼다.
+     * update 문에는 바뀐 컬럼만 들어가고(Article의 @DynamicUpdate), 바뀐 값이 없으면 update 문을 실행하지 않는다.
+     * 이때는 updatedAt과 버전이 그대로이고, 검색 색인과 목록 버전도 갱신하지 않는다.
+     *
+     * @param expectedVersion 클라이언트가 읽었던 버전(If-Match). null이면 비교하지 않는다.
+     * @throws ObjectOptimisticLockingFailureException update()와 같음
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ARTICLES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ARTICLE_PAGES, key = "#id")
+    })
+    @Transactional
+    public Article patch(Long id, PatchArticleRequest patchRequest, Long expectedVersion) {
+        Article article = findForUpdate(id, expectedVersion);
+
+        if (article.patch(patchRequest.getTitle(), patchRequest.getContent())) {
+            searchIndex.index(article);
+            listVersion.increment();
+        }
         return article;
     }
+
+    private Article findForUpdate(Long id, Long expectedVersion) {
+        Article article = blogRepository.findById(id).
+                orElseThrow(() -> new IllegalArgumentException("not found: " + id));
+        // 읽은 버전이 expectedVersion이면, 이후 update 문의 버전 조건이 커밋 시점까지 같은 버전임을 보장한다.
+        if (expectedVersion != null && !expectedVersion.equals(article.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Article.class, id);
+        }
+        return article;
+    }
+
+    private <T> CursorPage<T> findPage(String cursor, Integer size,
+                                       Function<Pageable, List<T>> firstPage,
+                                       BiFunction<ArticleCursor, Pageable, List<T>> pageAfter,
+                                       Function<T, ArticleCursor> cursorOf) {
+        int pageSize = normalizePageSize(size);
+        // 다음 페이지가 있는지 알기 위해 한 건 더 조회한다. (count 쿼리 없이 판단)
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<T> rows = (cursor == null || cursor.isBlank())
+                ? firstPage.apply(limit)
+                : pageAfter.apply(ArticleCursor.decode(cursor), limit);
+        return CursorPage.of(rows, pageSize, cursorOf);
+    }
+
+    // 요청한 페이지 크기를 보정. null이면 DEFAULT_PAGE_SIZE, 그 외에는 1 ~ MAX_PAGE_SIZE 범위로 맞춘다.
+    public static int normalizePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
 }
@@ -0,0 +1,51 @@
+package me.shinsunyoung.springbootdeveloper_blog.service;
+
+import me.shinsunyoung.springbootdeveloper_blog.config.CacheConfig;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/*
+글 본문(마크다운)을 화면에 출력할 HTML로 변환. (commonmark)
+변환 결과는 본문 해시(Article.contentHash)를 키로 캐시한다. (CacheConfig.RENDERED_MARKDOWN)
+- 본문을 수정하면 해시가 바뀌므로 따로 캐시를 비우지 않아도 새 본문으로 다시 변환한다. 이전 HTML은 크기 제한에 따라 밀려난다.
+- 본문이 같은 글은 몇 개든 한 번만 변환한다. 제목만 수정해 화면을 다시 렌더링할 때도 본문은 다시 변환하지 않는다.
+
+본문은 사용자가 입력한 값이므로, 결과 HTML에는 렌더러가 만든 태그만 남긴다.
+- escapeHtml: 본문에 직접 쓴 HTML(<script>, <img onerror=...> 등)은 실행되지 않도록 이스케이프해 글자 그대로 보여준다.
+- sanitizeUrls: 링크/이미지 주소는 http, https, mailto 같은 안전한 프로토콜만 허용한다. (javascript: 등은 빈 주소로 바뀜)
+  모든 링크에 rel="nofollow"도 붙는다. (검색 엔진이 본문 링크를 따라가 순위에 반영하지 않도록)
+Parser, HtmlRenderer는 스레드에 안전하므로 하나를 만들어 공유한다.
+ */
+@Component
+public class MarkdownRenderer {
+
+    private final Parser parser = Parser.builder().build();
+    private final HtmlRenderer renderer = HtmlRenderer.builder()
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .build();
+
+    private final Cache cache;
+
+    public MarkdownRenderer(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.RENDERED_MARKDOWN);
+    }
+
+    /**
+     * 본문을 HTML로 변환. 같은 해시로 변환한 결과가 캐시에 있으면 그대로 반환한다.
+     *
+     * @param contentHash markdown의 해시(ArticleContent.hash). 같은 해시는 같은 본문이어야 한다.
+     * @param markdown    본문
+     */
+    public String render(String contentHash, String markdown) {
+        // 같은 본문을 여러 요청이 동시에 처음 조회해도 변환은 한 번만 한다. (CaffeineCache.get(key, valueLoader))
+        return cache.get(contentHash, () -> toHtml(markdown));
+    }
+
+    private String toHtml(String markdown) {
+        return renderer.render(parser.parse(markdown));
+    }
+}
@@ -0,0 +1,82 @@
+package me.shinsunyoung.springbootdeveloper_blog.service;
+
+import lombok.RequiredArgsConstructor;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.InvalidTokenException;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.TokenDigest;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.TokenProvider;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.TokenType;
+import me.shinsunyoung.springbootdeveloper_blog.domain.RefreshToken;
+import me.shinsunyoung.springbootdeveloper_blog.domain.User;
+import me.shinsunyoung.springbootdeveloper_blog.repository.RefreshTokenRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Service
+public class RefreshTokenService {
+
+    public static final Duration REFRESH_TOKEN_DURATION = Duration.ofDays(14);
+    // 만료 토큰 정리 시 한 트랜잭션에서 지우는 최대 행 수. 락을 오래 잡지 않도록 작게 나눈다.
+    public static final int SWEEP_BATCH_SIZE = 500;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenProvider tokenProvider;
+
+    /**
+     * 사용자에게 새 리프레시 토큰을 발급. 사용자당 하나만 유지하므로 기존 토큰이 있으면 교체된다.
+     * DB에는 토큰 원문이 아닌 다이제스트와 만료 시각만 저장한다.
+     *
+     * @return 리프레시 토큰 원문. 클라이언트에게 한 번만 전달되고 서버에는 남지 않는다.
+     */
+    @Transactional
+    public String issue(User user) {
+        String refreshToken = tokenProvider.generateToken(user, REFRESH_TOKEN_DURATION, TokenType.REFRESH);
+        String tokenHash = TokenDigest.sha256Hex(refreshToken);
+        LocalDateTime expiresAt = LocalDateTime.now().plus(REFRESH_TOKEN_DURATION);
+
+        refreshTokenRepository.findByUserId(user.getId())
+                .map(entity -> entity.update(tokenHash, expiresAt))
+                .orElseGet(() -> refreshTokenRepository.save(new RefreshToken(user.getId(), tokenHash, expiresAt)));
+        return refreshToken;
+    }
+
+    // 리프레시 토큰 원문으로 저장된 토큰 조회. 없거나 만료됐으면 InvalidTokenException.
+    public RefreshToken findByRefreshToken(String refreshToken) {
+        return refreshTokenRepository.findByTokenHash(TokenDigest.sha256Hex(refreshToken))
+                .filter(entity -> !entity.isExpired(LocalDateTime.now()))
+                .orElseThrow(() -> new InvalidTokenException("Unexpected token"));
+    }
+
+    // 사용자의 리프레시 토큰 삭제. 이후 액세스 토큰 재발급이 거절된다.
+    @Transactional
+    public void delete(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /*
+    만료된 리프레시 토큰을 주기적으로 삭제. (jwt.refresh-token-sweep-interval, 기본 10분)
+    한 번에 전부 지우지 않고 SWEEP_BATCH_SIZE건씩 조회/삭제를 반복한다.
+    배치마다 트랜잭션이 따로 끝나므로(deleteExpiredByIds), 토큰 발급/조회가 오래 기다리지 않는다.
+    삭제할 때 만료 조건을 다시 확인하므로, 조회한 뒤 새로 발급되어 갱신된 토큰은 지우지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-sweep-interval:PT10M}",
+            initialDelayString = "${jwt.refresh-token-sweep-interval:PT10M}")
+    public int deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = 0;
+        List<Long> expiredIds;
+        do {
+            expiredIds = refreshTokenRepository.findExpiredIds(now, PageRequest.ofSize(SWEEP_BATCH_SIZE));
+            if (!expiredIds.isEmpty()) {
+                deleted += refreshTokenRepository.deleteExpiredByIds(expiredIds, now);
+            }
+        } while (expiredIds.size() == SWEEP_BATCH_SIZE);
+        return deleted;
+    }
+}
@@ -0,0 +1,137 @@
+package me.shinsunyoung.springbootdeveloper_blog.service;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.BloomFilter;
+import me.shinsunyoung.springbootdeveloper_blog.domain.RevokedToken;
+import me.shinsunyoung.springbootdeveloper_blog.repository.RevokedTokenRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Stream;
+
+/*
+액세스 토큰 폐기(revocation).
+폐기된 토큰의 jti는 DB(revoked_token)에 저장하고, 메모리의 블룸 필터에도 넣는다.
+요청마다 DB를 조회하면 상태 없는(stateless) 토큰의 장점이 사라지므로, 블룸 필터가 "있을 수 있다"고 답한 경우에만 DB를 확인한다.
+폐기되지 않은 토큰은 거의 항상 필터에서 바로 걸러지므로 DB 조회 없이 통과한다.
+
+- 만료: 폐기된 토큰도 exp가 지나면 어차피 거절되므로, 주기적으로(jwt.revocation-rebuild-interval) 만료된 행을 지우고
+  남은 jti만으로 필터를 새로 만들어 교체한다. 블룸 필터는 원소를 지울 수 없으므로 이렇게 해야 필터가 계속 커지지 않는다.
+- 여러 인스턴스: 다른 인스턴스에서 폐기한 토큰은 다음 재구성 때부터 이 인스턴스의 필터에 반영된다.
+ */
+@Service
+public class TokenRevocationService {
+
+    // 필터를 만들 때 예상 원소 수의 최솟값. 재구성 사이에 폐기되는 토큰도 넣을 수 있도록 여유를 둔다.
+    private static final int MIN_EXPECTED_INSERTIONS = 10_000;
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transaction;
+
+    // 현재 검사에 쓰는 필터.
+    private volatile BloomFilter filter = BloomFilter.create(MIN_EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+    // 재구성 중인 새 필터. 재구성 도중 폐기된 토큰을 새 필터에도 넣기 위해 둔다.
+    private volatile BloomFilter building;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        /*
+        폐기 목록은 항상 원본에서 읽고 쓴다. 리포지토리 조회 메서드는 기본이 읽기 전용 트랜잭션이라 복제본으로 가는데(DataSourceRoutingConfig),
+        복제 지연 때문에 방금 폐기한 토큰이 통과할 수 있으므로 읽기 전용이 아닌 트랜잭션 안에서 호출한다.
+         */
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 토큰을 만료 전에 폐기. 같은 토큰을 다시 폐기해도 된다.
+     *
+     * @param claims 서명 검증을 마친 토큰의 클레임. jti(getId)와 exp가 있어야 한다.
+     */
+    public void revoke(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null || claims.getExpiration() == null) {
+            throw new IllegalArgumentException("token without jti or exp cannot be revoked");
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        transaction.executeWithoutResult(status -> {
+            if (!revokedTokenRepository.existsByJti(jti)) {
+                revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+            }
+        });
+        /*
+        DB에 커밋된 뒤에 필터에 넣는다. 재구성 중인 필터를 먼저 확인해야 빠지는 경우가 없다.
+        - 재구성 중이 아니었다면(null), 재구성은 커밋 이후에 시작되므로 DB에서 이 jti를 읽어 간다.
+        - 재구성 중이었다면 새 필터에 직접 넣는다.
+         */
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(jti);
+        }
+        filter.put(jti);
+    }
+
+    /**
+     * 폐기된 토큰인지 확인. 블룸 필터에 없으면 DB를 조회하지 않고 바로 false.
+     * jti가 없는 토큰(jti 클레임 추가 이전에 발급된 토큰)은 폐기할 수 없으므로 false.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return Boolean.TRUE.equals(transaction.execute(status -> revokedTokenRepository.existsByJti(jti)));
+    }
+
+    // 현재 필터의 비트 배열 크기(바이트).
+    public long getFilterSizeInBytes() {
+        return filter.sizeInBytes();
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /*
+    만료된 행을 SWEEP_BATCH_SIZE건씩 지운 뒤, 남은 jti로 새 필터를 만들어 교체한다.
+    새 필터를 만드는 동안에도 기존 필터로 검사하므로 요청이 기다리지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation-rebuild-interval:PT10M}",
+            initialDelayString = "${jwt.revocation-rebuild-interval:PT10M}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> expiredIds;
+        do {
+            // 배치마다 트랜잭션을 따로 커밋한다.
+            expiredIds = transaction.execute(status -> {
+                List<Long> ids = revokedTokenRepository.findExpiredIds(now, PageRequest.ofSize(SWEEP_BATCH_SIZE));
+                if (!ids.isEmpty()) {
+                    revokedTokenRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids;
+            });
+        } while (expiredIds.size() == SWEEP_BATCH_SIZE);
+
+        BloomFilter next = transaction.execute(status -> {
+            long count = revokedTokenRepository.count();
+            BloomFilter created = BloomFilter.create(
+                    (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_EXPECTED_INSERTIONS, count * 2)), FALSE_POSITIVE_PROBABILITY);
+            building = created;
+            try (Stream<String> jtis = revokedTokenRepository.streamActiveJtis(now)) {
+                jtis.forEach(created::put);
+            }
+            return created;
+        });
+        filter = next;
+        building = null;
+    }
+}
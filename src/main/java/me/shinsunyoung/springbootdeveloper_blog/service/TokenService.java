@@ -0,0 +1,68 @@
+package me.shinsunyoung.springbootdeveloper_blog.service;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.InvalidTokenException;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.TokenProvider;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.TokenType;
+import me.shinsunyoung.springbootdeveloper_blog.domain.User;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@RequiredArgsConstructor
+@Service
+public class TokenService {
+
+    public static final Duration ACCESS_TOKEN_DURATION = Duration.ofHours(2);
+
+    private final TokenProvider tokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
+
+    /*
+    리프레시 토큰으로 새 액세스 토큰 발급.
+    토큰 서명/만료와 종류(리프레시 토큰)를 먼저 검증하고, 저장된 토큰(다이제스트 일치, 만료 전)인지 확인한 뒤 그 사용자로 액세스 토큰을 만든다.
+    검증에 실패하면 InvalidTokenException.
+     */
+    public String createNewAccessToken(String refreshToken) {
+        Claims claims = tokenProvider.getVerifiedClaims(refreshToken);
+        if (!TokenType.REFRESH.matches(claims) || tokenRevocationService.isRevoked(claims.getId())) {
+            throw new InvalidTokenException("Unexpected token");
+        }
+
+        Long userId = refreshTokenService.findByRefreshToken(refreshToken).getUserId();
+        User user = userService.findById(userId);
+
+        return createAccessToken(user);
+    }
+
+    /*
+    액세스 토큰을 만료 전에 폐기하고, 같은 사용자의 리프레시 토큰도 지운다. (로그아웃)
+    이후 이 액세스 토큰으로 온 요청은 인증되지 않고, 리프레시 토큰으로 새 액세스 토큰을 받을 수도 없다.
+    리프레시 토큰 원문을 함께 받으면(쿠키) 그 토큰의 jti도 폐기한다. 저장된 행을 지우는 것과 별개로,
+    서명된 토큰 자체도 만료 전까지 어디에서도 받아들여지지 않게 하기 위함.
+
+    @param refreshToken 같은 사용자의 리프레시 토큰. 없으면 null. 다른 사용자의 토큰이나 리프레시 토큰이 아니면 무시한다.
+     */
+    public void revoke(String accessToken, String refreshToken) {
+        Claims claims = tokenProvider.getVerifiedClaims(accessToken);
+        if (claims == null) {
+            throw new InvalidTokenException("Unexpected token");
+        }
+        Long userId = claims.get("id", Long.class);
+        tokenRevocationService.revoke(claims);
+
+        Claims refreshClaims = tokenProvider.getVerifiedClaims(refreshToken);
+        if (TokenType.REFRESH.matches(refreshClaims) && userId.equals(refreshClaims.get("id", Long.class))) {
+            tokenRevocationService.revoke(refreshClaims);
+        }
+        refreshTokenService.delete(userId);
+    }
+
+    // 로그인한 사용자에게 액세스 토큰 발급. (TokenLoginSuccessHandler)
+    public String createAccessToken(User user) {
+        return tokenProvider.generateToken(user, ACCESS_TOKEN_DURATION);
+    }
+}
@@ -4,9 +4,11 @@ import lombok.RequiredArgsConstructor;
 import me.shinsunyoung.springbootdeveloper_blog.domain.User;
 import me.shinsunyoung.springbootdeveloper_blog.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /*
 JPA, MyBatis 등을 통해 데이터베이스에서 사용자 정보를 인증할 때 UserDetailsService 구현해서 사용.
@@ -14,10 +16,14 @@ JPA, MyBatis 등을 통해 데이터베이스에서 사용자 정보를 인증
 사용자 이름 대신 이메일, 정화번호 등을 통해 인증해야하는 경우 커스텀이 필요함으로 직접 구현해야 한다.
 메모리 인증, LDAP, OAuth2 등 외부 인증 방식에서는 UserDetailsService 필요 없음.
 AuthenticationManager에서 검증을 위해 사용자 정보를 조회할 때 loadUserByUsername() 메서드가 사용됨.
+
+UserDetailsPasswordService: 로그인에 성공했는데 저장된 해시가 현재 설정보다 약하면(PasswordEncoder.upgradeEncoding),
+DaoAuthenticationProvider가 입력받은 비밀번호를 새 설정으로 다시 해시해서 updatePassword()로 넘겨준다.
+BCrypt 강도(password-hashing.strength)를 올리면 사용자가 다음에 로그인할 때 자연스럽게 새 강도로 바뀐다.
  */
 @Service
 @RequiredArgsConstructor
-public class UserDetailService implements UserDetailsService {
+public class UserDetailService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -27,4 +33,13 @@ public class UserDetailService implements UserDetailsService {
                 new IllegalArgumentException(email));
         return user;
     }
+
+    @Transactional
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User found = userRepository.findByEmail(user.getUsername()).orElseThrow(() ->
+                new IllegalArgumentException(user.getUsername()));
+        found.updatePassword(newPassword);
+        return found;
+    }
 }
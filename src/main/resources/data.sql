@@ -1,3 +1,6 @@
-insert into article(title, content, created_at, updated_at) values ('제목 1', '내용 1', now(), now())
-insert into article(title, content, created_at, updated_at) values ('제목 2', '내용 2', now(), now())
-insert into article(title, content, created_at, updated_at) values ('제목 3', '내용 3', now(), now())
\ No newline at end of file
+insert into article_content(id, content) values (next value for article_seq, cast('내용 1' as binary varying))
+insert into article(id, title, excerpt, content_hash, content_id, version, created_at, updated_at) select id, '제목 1', '내용 1', lower(rawtohex(hash('SHA-256', content))), id, 0, now(), now() from article_content where id = (select max(id) from article_content)
+insert into article_content(id, content) values (next value for article_seq, cast('내용 2' as binary varying))
+insert into article(id, title, excerpt, content_hash, content_id, version, created_at, updated_at) select id, '제목 2', '내용 2', lower(rawtohex(hash('SHA-256', content))), id, 0, now(), now() from article_content where id = (select max(id) from article_content)
+insert into article_content(id, content) values (next value for article_seq, cast('내용 3' as binary varying))
+insert into article(id, title, excerpt, content_hash, content_id, version, created_at, updated_at) select id, '제목 3', '내용 3', lower(rawtohex(hash('SHA-256', content))), id, 0, now(), now() from article_content where id = (select max(id) from article_content)
\ No newline at end of file
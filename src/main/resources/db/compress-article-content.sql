@@ -0,0 +1,3 @@
+-- article_content.content를 문자열 컬럼에서 바이트 컬럼으로 바꾼다. (CompressedStringConverter 참고) H2 문법.
+-- 기존 본문은 표시 바이트 없는 UTF-8 바이트로 바뀌어 그대로 읽히고, 다음에 수정될 때 새 형식(압축)으로 저장된다.
+alter table article_content alter column content set data type binary varying(3000001);
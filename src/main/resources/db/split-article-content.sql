@@ -0,0 +1,37 @@
+-- 글 본문을 article.content 컬럼에서 article_content 테이블로 옮긴다. (Article.body 참고)
+-- 스키마를 JPA가 만들지 않는 기존 DB에 한 번 실행한다. H2 문법. (ex. RUNSCRIPT FROM 'classpath:db/split-article-content.sql')
+-- 본문 행의 id는 글 id를 그대로 쓴다. 글과 본문은 같은 시퀀스(article_seq)에서 id를 받으므로 이후에 받는 id와 겹치지 않는다.
+
+-- 글 id를 IDENTITY 컬럼에서 시퀀스(article_seq)로 바꾼다. (배치 insert를 위해 바꿈. Article.id 참고)
+-- 그 이전에 만든 DB에는 article_seq가 없으므로 여기서 만든다. 이미 있으면 값만 다시 맞춘다.
+-- increment by는 @SequenceGenerator의 allocationSize(50)와 같아야 한다.
+-- Hibernate(pooled optimizer)는 시퀀스에서 받은 값을 묶음의 마지막 id로 보고, 그 앞의 49개부터 나눠 준다.
+-- 그래서 max(id) + 50에서 시작해야 첫 묶음(max(id) + 1 ~ max(id) + 50)이 기존 id와 겹치지 않는다.
+create sequence if not exists article_seq increment by 50;
+alter sequence article_seq restart with (select coalesce(max(id), 0) + 50 from article);
+alter table article alter column id drop identity;
+
+create table article_content (
+    id bigint not null primary key,
+    content character varying(1000000) not null
+);
+
+insert into article_content (id, content)
+select id, content from article;
+
+alter table article add column content_id bigint;
+alter table article add column excerpt character varying(200);
+alter table article add column content_hash character varying(64);
+
+update article
+set content_id = id,
+    excerpt = substring(content, 1, 200),
+    content_hash = lower(rawtohex(hash('SHA-256', content)));
+
+alter table article alter column content_id set not null;
+alter table article alter column excerpt set not null;
+alter table article alter column content_hash set not null;
+alter table article add constraint uk_article_content_id unique (content_id);
+alter table article add constraint fk_article_content_id foreign key (content_id) references article_content (id);
+
+alter table article drop column content;
@@ -8,7 +8,7 @@ if (deleteButton) {
         let id = document.getElementById('article-id').value;
 
         // DELETE 요청을 서버로 전송
-        fetch(`/api/articles/${id}`, {
+        httpRequest(`/api/articles/${id}`, {
             method: 'DELETE'
         })
             .then(() => {
@@ -33,10 +33,12 @@ if (modifyButton) {
         console.log("Article ID:", id); // URL에서 id 추출 확인
 
         // PUT 요청으로 수정된 데이터를 서버로 전송
-        fetch(`/api/articles/${id}`, {
+        // If-Match: 수정 화면을 열 때 받은 글 버전. 그 사이에 다른 사람이 수정했으면 서버가 412로 거절한다.
+        httpRequest(`/api/articles/${id}`, {
             method: 'PUT',
             headers: {
                 "Content-Type": "application/json", // JSON 데이터 형식 지정
+                "If-Match": document.getElementById('article-etag').value,
             },
             body: JSON.stringify({
                 // 수정된 제목과 내용을 JSON으로 전달
@@ -44,7 +46,12 @@ if (modifyButton) {
                 content: document.getElementById('content').value
             })
         })
-            .then(() => {
+            .then(response => {
+                if (response.status === 412) {
+                    alert('다른 사용자가 먼저 글을 수정했습니다. 최신 내용을 확인한 뒤 다시 수정해 주세요.');
+                    location.replace(`/articles/${id}`);
+                    return;
+                }
                 // 요청 성공 시 알림을 표시하고 수정된 글 페이지로 이동
                 alert('수정이 완료되었습니다.');
                 location.replace(`/articles/${id}`); // /articles/{id}로 리다이렉트
@@ -59,7 +66,7 @@ const createButton = document.getElementById('create-btn');
 if (createButton) {
     createButton.addEventListener('click', event => {
         // POST 요청으로 새 데이터를 서버로 전송
-        fetch('/api/articles', {
+        httpRequest('/api/articles', {
             method: 'POST',
             headers: {
                 "Content-Type": "application/json", // JSON 데이터 형식 지정
@@ -77,3 +84,51 @@ if (createButton) {
             });
     });
 }
+
+// 쿠키 값 조회. 로그인 성공 시 서버가 access_token 쿠키를 내려준다. (refresh_token 쿠키는 HttpOnly라 읽을 수 없다)
+function getCookie(name) {
+    const prefix = name + '=';
+    const cookie = document.cookie.split('; ').find(item => item.startsWith(prefix));
+    return cookie ? decodeURIComponent(cookie.substring(prefix.length)) : null;
+}
+
+/*
+/api/** 요청. 서버는 세션이 아닌 Authorization 헤더의 액세스 토큰으로만 인증한다.
+401이면 리프레시 토큰으로 액세스 토큰을 다시 받아 한 번 더 요청하고, 그래도 안 되면 로그인 화면으로 이동한다.
+ */
+function httpRequest(url, options) {
+    return fetch(url, withAccessToken(options))
+        .then(response => {
+            if (response.status !== 401) {
+                return response;
+            }
+            return refreshAccessToken()
+                .then(() => fetch(url, withAccessToken(options)))
+                .catch(() => {
+                    location.replace('/login');
+                    return Promise.reject(response);
+                });
+        });
+}
+
+function withAccessToken(options) {
+    const headers = Object.assign({}, options.headers, {
+        Authorization: 'Bearer ' + getCookie('access_token'),
+    });
+    return Object.assign({}, options, {headers: headers});
+}
+
+/*
+리프레시 토큰으로 새 액세스 토큰을 받아 쿠키에 저장.
+리프레시 토큰은 HttpOnly 쿠키(Path=/api/token)로 브라우저가 직접 보내고, 서버가 쿠키에서 읽는다. 스크립트는 다루지 않는다.
+ */
+function refreshAccessToken() {
+    return fetch('/api/token', {
+        method: 'POST',
+        credentials: 'same-origin'
+    })
+        .then(response => response.ok ? response.json() : Promise.reject(response))
+        .then(result => {
+            document.cookie = `access_token=${encodeURIComponent(result.accessToken)}; path=/; SameSite=Strict`;
+        });
+}
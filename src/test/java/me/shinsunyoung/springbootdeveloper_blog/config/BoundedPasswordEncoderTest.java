@@ -0,0 +1,76 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    @DisplayName("encode: 해시 스레드와 대기열이 모두 차면 기다리지 않고 바로 거절한다.")
+    @Test
+    void rejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 스레드 1개, 대기열 없음
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release), 1, 0)) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("running"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> encoder.encode("rejected"))
+                    .isInstanceOf(PasswordHashingRejectedException.class);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("{test}running");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @DisplayName("matches: 해시 계산 결과는 위임한 인코더와 같다.")
+    @Test
+    void delegatesResult() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BlockingEncoder(new CountDownLatch(1), new CountDownLatch(0)), 2, 2)) {
+            String encoded = encoder.encode("password");
+
+            assertThat(encoder.matches("password", encoded)).isTrue();
+            assertThat(encoder.matches("wrong", encoded)).isFalse();
+        }
+    }
+
+    // encode 중에 release될 때까지 멈춰 있는 인코더. 스레드 풀이 가득 찬 상황을 만든다.
+    private static class BlockingEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        BlockingEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "{test}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("{test}" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
+import me.shinsunyoung.springbootdeveloper_blog.dto.AddArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleVersion;
+import me.shinsunyoung.springbootdeveloper_blog.service.BlogService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+H2 인메모리 DB 세 개(원본 testdb, 복제본 replica1, replica2)로 라우팅을 확인한다.
+복제본은 실제로 복제되지 않는 빈 DB이므로, 기동 시 복제본에서 글을 읽는 검색 색인 재구축은 끈다.
+어느 DB에서 실행됐는지는 H2의 DATABASE() 함수로 확인한다.
+ */
+@SpringBootTest(properties = {
+        "datasource-routing.replicas[0].url=jdbc:h2:mem:replica1",
+        "datasource-routing.replicas[1].url=jdbc:h2:mem:replica2",
+        "search.rebuild-on-startup=false"
+})
+class DataSourceRoutingConfigTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BlogService blogService;
+
+    @DisplayName("dataSource: 읽기 전용 트랜잭션은 복제본 두 개를 번갈아 쓰고, 그 외에는 원본을 쓴다.")
+    @Test
+    void routing() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        String first = readOnly.execute(status -> currentDatabase());
+        String second = readOnly.execute(status -> currentDatabase());
+        String primary = readWrite.execute(status -> currentDatabase());
+
+        assertThat(first + "," + second).isIn("REPLICA1,REPLICA2", "REPLICA2,REPLICA1");
+        assertThat(primary).isEqualTo("TESTDB");
+        assertThat(currentDatabase()).isEqualTo("TESTDB"); // 트랜잭션 밖
+    }
+
+    /*
+    복제본에는 테이블도 없으므로, 복제본에서 읽으면 실패한다.
+    상세 캐시를 채우는 조회와 버전(ETag) 조회는 복제 지연과 상관없이 방금 쓴 글을 읽어야 하므로 원본에서 읽는다.
+     */
+    @DisplayName("BlogService: 글 상세 조회와 버전 조회는 읽기 전용 트랜잭션이지만 @ReadFromPrimary이므로 원본에서 읽는다.")
+    @Test
+    void detailAndVersionReadFromPrimary() {
+        Article article = blogService.save(new AddArticleRequest("title", "content"));
+
+        assertThat(blogService.findById(article.getId()).getTitle()).isEqualTo("title");
+        assertThat(blogService.findVersion(article.getId()).getETag()).isEqualTo(new ArticleVersion(article).getETag());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("select database()", String.class).toUpperCase();
+    }
+}
@@ -0,0 +1,78 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.TokenProvider;
+import me.shinsunyoung.springbootdeveloper_blog.dto.AddArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.repository.BlogRepository;
+import me.shinsunyoung.springbootdeveloper_blog.service.BlogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 테스트에서는 지표 내보내기가 기본으로 꺼져 있으므로 @AutoConfigureObservability로 켠다.
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest
+class PrometheusEndpointTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @BeforeEach
+    public void setUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        blogRepository.deleteAll();
+    }
+
+    @DisplayName("prometheus: 로그인하지 않으면 지표를 읽을 수 없고, health는 열려 있다.")
+    @Test
+    public void scrapeRequiresLogin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().is3xxRedirection());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("prometheus: 로그인한 사용자는 서비스, 토큰 검증, Hibernate, 커넥션 풀 지표를 수집할 수 있다.")
+    @Test
+    public void scrape() throws Exception {
+        Long id = blogService.save(new AddArticleRequest("title", "content")).getId();
+        blogService.findById(id);
+        tokenProvider.validToken("invalid token");
+
+        String body = mockMvc.perform(get("/actuator/prometheus").with(user("scraper")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body)
+                .contains("blog_service_seconds_count{class=\"" + BlogService.class.getName() + "\"")
+                .contains("jwt_verifications_total{outcome=\"invalid\"")
+                .contains("hibernate_query_executions_total")
+                .contains("hibernate_entities_loads_total")
+                .contains("hibernate_flushes_total")
+                .contains("hikaricp_connections_active");
+        // 글 id가 태그 값으로 들어가지 않는다.
+        assertThat(body).doesNotContain("id=\"" + id + "\"");
+    }
+}
@@ -0,0 +1,88 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private final DataSource replica2 = mock(DataSource.class);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @DisplayName("getConnection: 읽기 전용 트랜잭션이 아니면 원본을 쓴다.")
+    @Test
+    void writeGoesToPrimary() throws SQLException {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), Duration.ofSeconds(30));
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @DisplayName("getConnection: 읽기 전용 트랜잭션은 복제본을 돌아가며 쓴다.")
+    @Test
+    void readOnlyRoundRobin() throws SQLException {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), Duration.ofSeconds(30));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.getConnection()).isSameAs(replica1Connection);
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+        assertThat(dataSource.getConnection()).isSameAs(replica1Connection);
+    }
+
+    @DisplayName("getConnection: 연결에 실패한 복제본은 retryInterval 동안 건너뛰고, 모두 실패하면 원본을 쓴다.")
+    @Test
+    void unhealthyReplicaFallsBack() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLException("down"));
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), Duration.ofMinutes(1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection); // replica1 실패 -> replica2
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+        verify(replica1, times(1)).getConnection(); // 실패한 뒤로는 시도하지 않는다.
+
+        when(replica2.getConnection()).thenThrow(new SQLException("down"));
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @DisplayName("getConnection(username, password): 읽기 전용 트랜잭션이어도 원본에 그대로 위임한다.")
+    @Test
+    void credentialedConnectionGoesToPrimary() throws SQLException {
+        Connection credentialed = mock(Connection.class);
+        when(primary.getConnection("user", "secret")).thenReturn(credentialed);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), Duration.ofSeconds(30));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.getConnection("user", "secret")).isSameAs(credentialed);
+    }
+}
@@ -0,0 +1,166 @@
+package me.shinsunyoung.springbootdeveloper_blog.config;
+
+import jakarta.servlet.http.Cookie;
+import me.shinsunyoung.springbootdeveloper_blog.config.jwt.TokenProvider;
+import me.shinsunyoung.springbootdeveloper_blog.domain.User;
+import me.shinsunyoung.springbootdeveloper_blog.dto.AddUserRequest;
+import me.shinsunyoung.springbootdeveloper_blog.repository.RefreshTokenRepository;
+import me.shinsunyoung.springbootdeveloper_blog.repository.UserRepository;
+import me.shinsunyoung.springbootdeveloper_blog.service.RefreshTokenService;
+import me.shinsunyoung.springbootdeveloper_blog.service.TokenRevocationService;
+import me.shinsunyoung.springbootdeveloper_blog.service.TokenService;
+import me.shinsunyoung.springbootdeveloper_blog.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class WebSecurityConfigTest {
+
+    private static final String EMAIL = "user@email.com";
+    private static final String PASSWORD = "password";
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        // 다른 컨트롤러 테스트와 달리 보안 필터 체인을 거치도록 설정.
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+
+        AddUserRequest request = new AddUserRequest();
+        request.setEmail(EMAIL);
+        request.setPassword(PASSWORD);
+        user = userService.findById(userService.save(request));
+    }
+
+    @DisplayName("apiFilterChain: 액세스 토큰으로 인증하고, 세션을 만들지 않는다.")
+    @Test
+    public void apiWithAccessToken() throws Exception {
+        String accessToken = tokenService.createAccessToken(user);
+
+        MvcResult result = mockMvc.perform(get("/api/articles")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getRequest().getSession(false)).isNull();
+        assertThat(result.getResponse().getHeader(HttpHeaders.SET_COOKIE)).isNull();
+    }
+
+    @DisplayName("apiFilterChain: 토큰이 없으면 로그인 페이지로 보내지 않고 401로 응답한다.")
+    @Test
+    public void apiWithoutAccessToken() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/articles"))
+                .andExpect(status().isUnauthorized())
+                .andReturn();
+
+        assertThat(result.getRequest().getSession(false)).isNull();
+    }
+
+    @DisplayName("apiFilterChain: 리프레시 토큰은 서명이 유효해도 액세스 토큰으로 인증되지 않는다.")
+    @Test
+    public void apiWithRefreshToken() throws Exception {
+        String refreshToken = refreshTokenService.issue(user);
+
+        mockMvc.perform(get("/api/articles")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @DisplayName("apiFilterChain: 폐기한 액세스 토큰으로는 더 이상 인증되지 않는다.")
+    @Test
+    public void revokedAccessToken() throws Exception {
+        String accessToken = tokenService.createAccessToken(user);
+        String otherAccessToken = tokenService.createAccessToken(user);
+
+        mockMvc.perform(delete("/api/token")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/articles")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        // 같은 사용자의 다른 토큰(jti가 다름)은 그대로 쓸 수 있다.
+        mockMvc.perform(get("/api/articles")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + otherAccessToken))
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("apiFilterChain: 로그아웃하면 쿠키로 함께 보낸 리프레시 토큰도 폐기되어 액세스 토큰을 다시 받을 수 없다.")
+    @Test
+    public void logoutRevokesRefreshToken() throws Exception {
+        String accessToken = tokenService.createAccessToken(user);
+        String refreshToken = refreshTokenService.issue(user);
+        Cookie refreshCookie = new Cookie(TokenLoginSuccessHandler.REFRESH_TOKEN_COOKIE, refreshToken);
+
+        mockMvc.perform(delete("/api/token")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .cookie(refreshCookie))
+                .andExpect(status().isNoContent())
+                .andExpect(cookie().maxAge(TokenLoginSuccessHandler.REFRESH_TOKEN_COOKIE, 0));
+
+        assertThat(tokenRevocationService.isRevoked(tokenProvider.getVerifiedClaims(refreshToken).getId())).isTrue();
+        mockMvc.perform(post("/api/token").cookie(refreshCookie))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @DisplayName("filterChain: 폼 로그인에 성공하면 API 호출용 토큰을 쿠키로 발급한다.")
+    @Test
+    public void formLoginIssuesTokens() throws Exception {
+        mockMvc.perform(formLogin("/login").user(EMAIL).password(PASSWORD))
+                .andExpect(redirectedUrl("/articles"))
+                .andExpect(cookie().exists(TokenLoginSuccessHandler.ACCESS_TOKEN_COOKIE))
+                .andExpect(cookie().exists(TokenLoginSuccessHandler.REFRESH_TOKEN_COOKIE))
+                // 리프레시 토큰은 스크립트가 읽을 수 없고, 재발급 경로에만 실린다.
+                .andExpect(cookie().httpOnly(TokenLoginSuccessHandler.REFRESH_TOKEN_COOKIE, true))
+                .andExpect(cookie().secure(TokenLoginSuccessHandler.REFRESH_TOKEN_COOKIE, true))
+                .andExpect(cookie().path(TokenLoginSuccessHandler.REFRESH_TOKEN_COOKIE, "/api/token"));
+
+        assertThat(refreshTokenRepository.findByUserId(user.getId())).isPresent();
+    }
+}
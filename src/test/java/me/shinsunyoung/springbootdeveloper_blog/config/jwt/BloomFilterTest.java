@@ -0,0 +1,44 @@
+package me.shinsunyoung.springbootdeveloper_blog.config.jwt;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @DisplayName("mightContain: 넣은 값은 항상 true이고, 넣지 않은 값의 오탐률은 설정값 근처에 머문다.")
+    @Test
+    void mightContain() {
+        int insertions = 10_000;
+        BloomFilter filter = BloomFilter.create(insertions, 0.01);
+        String[] values = new String[insertions];
+        for (int i = 0; i < insertions; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i]);
+        }
+
+        for (String value : values) {
+            assertThat(filter.mightContain(value)).isTrue();
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @DisplayName("create: 예상 원소 수와 오탐률이 범위를 벗어나면 예외가 발생한다.")
+    @Test
+    void createWithInvalidArguments() {
+        assertThatThrownBy(() -> BloomFilter.create(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
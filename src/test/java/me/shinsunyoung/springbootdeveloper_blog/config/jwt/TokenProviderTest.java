@@ -1,5 +1,6 @@
 package me.shinsunyoung.springbootdeveloper_blog.config.jwt;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import me.shinsunyoung.springbootdeveloper_blog.domain.User;
 import me.shinsunyoung.springbootdeveloper_blog.repository.UserRepository;
@@ -47,12 +48,14 @@ public class TokenProviderTest {
         then : jjwt 라이브러리를 사용해 토큰 복호화.
         토큰 만들 때 클레임으로 넣어둔 id값이 given절에서 만든 유저 ID와 동일한지 확인.
          */
-        Long userId = Jwts.parser().setSigningKey(jwtProperties.getSecretKey())
+        Claims claims = Jwts.parser().setSigningKey(jwtProperties.getSecretKey())
                 .parseClaimsJws(token)
-                .getBody()
-                .get("id", Long.class);
+                .getBody();
 
-        assertThat(userId).isEqualTo(testUser.getId());
+        assertThat(claims.get("id", Long.class)).isEqualTo(testUser.getId());
+        // 종류를 지정하지 않으면 액세스 토큰
+        assertThat(TokenType.ACCESS.matches(claims)).isTrue();
+        assertThat(TokenType.REFRESH.matches(claims)).isFalse();
     }
 
     /**
@@ -119,4 +122,26 @@ public class TokenProviderTest {
         assertThat(userIdByToken).isEqualTo(userId);
 
     }
+
+    /**
+     * 한 번 검증된 토큰은 다시 검증할 때 캐시된 클레임을 그대로 반환하는지 확인.
+     */
+    @DisplayName("getVerifiedClaims(): 같은 토큰은 다시 파싱하지 않고 캐시된 클레임을 반환한다.")
+    @Test
+    void getVerifiedClaims_cached() {
+        //given: 유효한 토큰 생성
+        String token = JwtFactory.builder()
+                .subject("user@gmail.com")
+                .build()
+                .createToken(jwtProperties);
+
+        //when: 같은 토큰을 두 번 검증
+        Claims first = tokenProvider.getVerifiedClaims(token);
+        Claims second = tokenProvider.getVerifiedClaims(token);
+
+        //then: 두 번째는 캐시된 같은 클레임 객체가 반환됨
+        assertThat(first).isNotNull();
+        assertThat(first.getSubject()).isEqualTo("user@gmail.com");
+        assertThat(second).isSameAs(first);
+    }
 }
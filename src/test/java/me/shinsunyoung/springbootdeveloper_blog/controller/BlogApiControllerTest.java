@@ -5,24 +5,33 @@ import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
 import me.shinsunyoung.springbootdeveloper_blog.dto.AddArticleRequest;
 import me.shinsunyoung.springbootdeveloper_blog.dto.UpdateArticleRequest;
 import me.shinsunyoung.springbootdeveloper_blog.repository.BlogRepository;
+import me.shinsunyoung.springbootdeveloper_blog.service.ArticleSearchIndex;
+import me.shinsunyoung.springbootdeveloper_blog.service.BlogService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -67,6 +76,42 @@ class BlogApiControllerTest {
         assertThat(articles.get(0).getTitle()).isEqualTo("title");
     }
 
+    @DisplayName("addArticles: 여러 글을 한 번에 추가하고 id 목록을 요청 순서대로 돌려준다.")
+    @Test
+    public void addArticles() throws Exception {
+        final String url = "/api/articles/batch";
+        final List<AddArticleRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            requests.add(new AddArticleRequest("title " + i, "content " + i));
+        }
+
+        String body = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(120))
+                .andReturn().getResponse().getContentAsString();
+
+        long[] ids = objectMapper.readValue(body, long[].class);
+        assertThat(blogRepository.count()).isEqualTo(120);
+        assertThat(blogRepository.findById(ids[119]).get().getTitle()).isEqualTo("title 119");
+    }
+
+    @DisplayName("addArticles: 한 번에 등록할 수 있는 건수를 넘으면 저장하지 않고 413으로 응답한다.")
+    @Test
+    public void addArticlesOverLimit() throws Exception {
+        final List<AddArticleRequest> requests = new ArrayList<>();
+        for (int i = 0; i <= BlogService.MAX_BATCH_SIZE; i++) {
+            requests.add(new AddArticleRequest("t", "c"));
+        }
+
+        mockMvc.perform(post("/api/articles/batch").contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(status().reason(containsString("max " + BlogService.MAX_BATCH_SIZE)));
+
+        assertThat(blogRepository.count()).isZero();
+    }
+
     @DisplayName("findAllArticles: 블로그 글 목록 조회에 성공한다.")
     @Test
     public void findAllArticles() throws Exception {
@@ -83,6 +128,111 @@ class BlogApiControllerTest {
                 .andExpect(jsonPath("$[0].title").value(title));
     }
 
+    @DisplayName("findAllArticles: 커서로 다음 페이지를 이어서 조회한다.")
+    @Test
+    public void findAllArticlesWithCursor() throws Exception {
+        final String url = "/api/articles";
+        blogRepository.save(Article.builder().title("title 1").content("content 1").build());
+        blogRepository.save(Article.builder().title("title 2").content("content 2").build());
+        blogRepository.save(Article.builder().title("title 3").content("content 3").build());
+
+        // 첫 페이지: 2건과 다음 페이지 커서
+        String nextCursor = mockMvc.perform(get(url).param("size", "2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("title 1"))
+                .andExpect(jsonPath("$[1].title").value("title 2"))
+                .andExpect(header().exists(BlogApiController.NEXT_CURSOR_HEADER))
+                .andReturn().getResponse().getHeader(BlogApiController.NEXT_CURSOR_HEADER);
+
+        // 두 번째(마지막) 페이지: 남은 1건, 커서 없음
+        mockMvc.perform(get(url).param("size", "2").param("cursor", nextCursor).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("title 3"))
+                .andExpect(header().doesNotExist(BlogApiController.NEXT_CURSOR_HEADER));
+    }
+
+    @DisplayName("findAllArticles: 변조되었거나 형식이 맞지 않는 커서는 400으로 거절한다.")
+    @Test
+    public void findAllArticlesWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/articles").param("cursor", "!!!"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/articles").param("cursor", "bm90LWEtY3Vyc29y")) // "not-a-cursor"
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("exportArticles: 전체 글을 NDJSON으로 내보낸다.")
+    @Test
+    public void exportArticles() throws Exception {
+        final String url = "/api/articles/export";
+        blogRepository.save(Article.builder().title("title 1").content("content 1").build());
+        blogRepository.save(Article.builder().title("title 2").content("content 2").build());
+
+        // StreamingResponseBody는 비동기로 처리되므로 asyncDispatch로 결과를 받는다.
+        MvcResult mvcResult = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo("title 1");
+        assertThat(objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo("title 2");
+    }
+
+    @DisplayName("searchArticles: 제목/본문 검색 결과가 저장, 수정, 삭제에 맞춰 바로 갱신된다.")
+    @Test
+    public void searchArticles() throws Exception {
+        final String url = "/api/articles/search";
+        String body = mockMvc.perform(post("/api/articles").contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new AddArticleRequest("루씬 검색 도입", "역색인으로 zebra 찾기"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).get("id").asLong();
+        mockMvc.perform(post("/api/articles").contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(new AddArticleRequest("다른 글", "zebra 이야기"))));
+
+        mockMvc.perform(get(url).param("q", "루씬"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(id))
+                .andExpect(header().string(BlogApiController.TOTAL_HITS_HEADER, "1"));
+        mockMvc.perform(get(url).param("q", "zebra"))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(put("/api/articles/{id}", id).contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(new UpdateArticleRequest("giraffe", "수정된 본문"))));
+        mockMvc.perform(get(url).param("q", "루씬"))
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get(url).param("q", "giraffe"))
+                .andExpect(jsonPath("$[0].id").value(id));
+
+        mockMvc.perform(delete("/api/articles/{id}", id));
+        mockMvc.perform(get(url).param("q", "giraffe"))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @DisplayName("searchArticles: 빈 검색어, 음수 페이지, 조회 한도를 넘는 깊은 페이지는 400으로 거절한다.")
+    @Test
+    public void searchArticlesWithInvalidParameters() throws Exception {
+        final String url = "/api/articles/search";
+
+        mockMvc.perform(get(url).param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(url).param("q", "zebra").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        int lastPage = ArticleSearchIndex.MAX_RESULT_WINDOW / BlogService.DEFAULT_PAGE_SIZE - 1;
+        mockMvc.perform(get(url).param("q", "zebra").param("page", String.valueOf(lastPage)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(url).param("q", "zebra").param("page", String.valueOf(lastPage + 1)))
+                .andExpect(status().isBadRequest());
+    }
+
     @DisplayName("findArticle: 블로그 글 조회에 성공한다.")
     @Test
     public void findArticle() throws Exception {
@@ -96,6 +246,108 @@ class BlogApiControllerTest {
 
     }
 
+    @DisplayName("findArticle: 글이 바뀌지 않았으면 If-None-Match 요청에 304로 응답하고, 수정 후에는 새 본문을 내려준다.")
+    @Test
+    public void findArticleNotModified() throws Exception {
+        final String url = "/api/articles/{id}";
+        Article savedArticle = blogRepository.save(Article.builder().title("title 1").content("content 1").build());
+
+        String eTag = mockMvc.perform(get(url, savedArticle.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url, savedArticle.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put(url, savedArticle.getId()).contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(new UpdateArticleRequest("new title", "new content"))));
+
+        mockMvc.perform(get(url, savedArticle.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("new title"));
+    }
+
+    @DisplayName("updateArticle: If-Match의 ETag가 현재 버전이면 수정하고 새 ETag를 내려주며, 이미 수정된 버전이면 412로 거절한다.")
+    @Test
+    public void updateArticleIfMatch() throws Exception {
+        final String url = "/api/articles/{id}";
+        Article savedArticle = blogRepository.save(Article.builder().title("title").content("content").build());
+
+        String eTag = mockMvc.perform(get(url, savedArticle.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 첫 번째 편집자: 읽은 버전 그대로이므로 성공
+        String newETag = mockMvc.perform(put(url, savedArticle.getId()).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest("first", "first content"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotEqualTo(eTag);
+
+        // 두 번째 편집자: 같은 버전을 읽고 늦게 수정 -> 덮어쓰지 않고 412
+        mockMvc.perform(put(url, savedArticle.getId()).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest("second", "second content"))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get(url, savedArticle.getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, newETag))
+                .andExpect(jsonPath("$.title").value("first"));
+
+        // 새 ETag로 다시 시도하면 성공
+        mockMvc.perform(put(url, savedArticle.getId()).header(HttpHeaders.IF_MATCH, newETag)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest("second", "second content"))))
+                .andExpect(status().isOk());
+        // 형식이 다른 ETag(약한 ETag 등)는 일치하지 않는 것으로 본다.
+        mockMvc.perform(put(url, savedArticle.getId()).header(HttpHeaders.IF_MATCH, "W/" + newETag)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest("third", "third content"))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @DisplayName("patchArticle: 요청에 있는 필드만 바꾸고, 바뀐 값이 없으면 수정 시각과 ETag가 그대로다.")
+    @Test
+    public void patchArticle() throws Exception {
+        final String url = "/api/articles/{id}";
+        Article savedArticle = blogRepository.save(Article.builder().title("title").content("content").build());
+
+        String eTag = mockMvc.perform(patch(url, savedArticle.getId()).contentType("application/merge-patch+json")
+                        .content("{\"title\": \"new title\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("new title"))
+                .andExpect(jsonPath("$.content").value("content"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Article patched = blogRepository.findById(savedArticle.getId()).orElseThrow();
+        assertThat(patched.getVersion()).isEqualTo(savedArticle.getVersion() + 1);
+
+        // 같은 값으로 다시 보내면 update 문이 실행되지 않는다.
+        mockMvc.perform(patch(url, savedArticle.getId()).contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content("{\"title\": \"new title\", \"content\": null}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        Article unchanged = blogRepository.findById(savedArticle.getId()).orElseThrow();
+        assertThat(unchanged.getVersion()).isEqualTo(patched.getVersion());
+        assertThat(unchanged.getUpdatedAt()).isEqualTo(patched.getUpdatedAt());
+        assertThat(unchanged.getContent()).isEqualTo("content");
+
+        // If-Match는 PUT과 같이 동작한다.
+        mockMvc.perform(patch(url, savedArticle.getId()).header(HttpHeaders.IF_MATCH, "\"" + savedArticle.getId() + "-0\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content("{\"content\": \"new content\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch(url, savedArticle.getId()).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content("{\"content\": \"new content\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("new title"))
+                .andExpect(jsonPath("$.content").value("new content"));
+    }
+
     @DisplayName("deleteArticle: 블로그 글 삭제에 성공한다.")
     @Test
     public void deleteArticle() throws Exception {
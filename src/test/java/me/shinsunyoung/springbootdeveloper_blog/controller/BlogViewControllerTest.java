@@ -0,0 +1,127 @@
+package me.shinsunyoung.springbootdeveloper_blog.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import me.shinsunyoung.springbootdeveloper_blog.config.CacheConfig;
+import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
+import me.shinsunyoung.springbootdeveloper_blog.dto.AddArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.dto.PatchArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.dto.UpdateArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.repository.BlogRepository;
+import me.shinsunyoung.springbootdeveloper_blog.service.BlogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class BlogViewControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        blogRepository.deleteAll();
+        nativeCache(CacheConfig.ARTICLE_PAGES).invalidateAll();
+        nativeCache(CacheConfig.ARTICLE_LIST_PAGES).invalidateAll();
+        nativeCache(CacheConfig.RENDERED_MARKDOWN).invalidateAll();
+    }
+
+    @DisplayName("getArticles: 두 번째 요청은 캐시된 HTML로 응답하고, 글이 추가되면 다시 렌더링한다.")
+    @Test
+    public void getArticlesIsCached() throws Exception {
+        blogService.save(new AddArticleRequest("title 1", "content 1"));
+        Cache<Object, Object> cache = nativeCache(CacheConfig.ARTICLE_LIST_PAGES);
+
+        String first = mockMvc.perform(get("/articles"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long hitsBefore = cache.stats().hitCount();
+        String second = mockMvc.perform(get("/articles"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(cache.stats().hitCount() - hitsBefore).isEqualTo(1);
+        // 로그아웃 폼도 그대로 들어 있다.
+        assertThat(second).contains("action=\"/logout\"");
+
+        blogService.save(new AddArticleRequest("title 2", "content 2"));
+
+        mockMvc.perform(get("/articles"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("title 2")));
+    }
+
+    @DisplayName("getArticles: 변조되었거나 형식이 맞지 않는 커서는 400으로 거절한다.")
+    @Test
+    public void getArticlesWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/articles").param("cursor", "!!!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("getArticle: 수정된 글은 캐시된 HTML 대신 새로 렌더링한다.")
+    @Test
+    public void getArticleRendersUpdatedContent() throws Exception {
+        Article article = blogService.save(new AddArticleRequest("title 1", "content 1"));
+
+        mockMvc.perform(get("/articles/{id}", article.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("content 1")));
+
+        blogService.update(article.getId(), new UpdateArticleRequest("title 1", "new content"), null);
+
+        mockMvc.perform(get("/articles/{id}", article.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("new content")));
+    }
+
+    @DisplayName("getArticle: 본문을 마크다운으로 렌더링하고, 제목만 수정하면 본문은 다시 변환하지 않는다.")
+    @Test
+    public void getArticleRendersMarkdown() throws Exception {
+        Article article = blogService.save(new AddArticleRequest("title 1", "**bold** <script>alert(1)</script>"));
+        Cache<Object, Object> markdownCache = nativeCache(CacheConfig.RENDERED_MARKDOWN);
+
+        mockMvc.perform(get("/articles/{id}", article.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<strong>bold</strong>")))
+                .andExpect(content().string(containsString("&lt;script&gt;alert(1)&lt;/script&gt;")));
+        long missesBefore = markdownCache.stats().missCount();
+
+        blogService.patch(article.getId(), new PatchArticleRequest("title 2", null), null);
+
+        mockMvc.perform(get("/articles/{id}", article.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("title 2")))
+                .andExpect(content().string(containsString("<strong>bold</strong>")));
+        assertThat(markdownCache.stats().missCount()).isEqualTo(missesBefore);
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
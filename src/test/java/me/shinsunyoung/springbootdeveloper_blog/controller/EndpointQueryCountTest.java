@@ -0,0 +1,214 @@
+package me.shinsunyoung.springbootdeveloper_blog.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.shinsunyoung.springbootdeveloper_blog.config.CacheConfig;
+import me.shinsunyoung.springbootdeveloper_blog.config.sql.QueryCountFilter;
+import me.shinsunyoung.springbootdeveloper_blog.config.sql.RequestQueryStats;
+import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
+import me.shinsunyoung.springbootdeveloper_blog.dto.AddArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.dto.PatchArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.dto.UpdateArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.repository.BlogRepository;
+import me.shinsunyoung.springbootdeveloper_blog.service.BlogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/*
+BlogApiController, BlogViewController 엔드포인트마다 요청 한 번에 실행되는 SQL 문 수를 고정한다.
+값이 바뀌면(N+1, 불필요한 조회 추가 등) 테스트가 실패하므로, 의도한 변경이면 기대값을 함께 고친다.
+보안 필터를 거치지 않으므로 컨트롤러와 서비스가 실행한 SQL만 센다.
+디버그 헤더는 기본으로 꺼져 있으므로 이 테스트에서만 켠다. (PUT은 헤더 확인용으로 기준을 낮춤)
+properties는 .properties 형식으로 읽으므로 key 안의 공백은 "\\ "로 이스케이프한다. (그대로 두면 공백에서 key가 끝남)
+ */
+@SpringBootTest(properties = {
+        "query-monitor.debug-header=true",
+        "query-monitor.thresholds.[PUT\\ /api/articles/{id}]=1"})
+class EndpointQueryCountTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private QueryCountFilter queryCountFilter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Article article;
+
+    @BeforeEach
+    public void setUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).addFilters(queryCountFilter).build();
+        blogRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        for (int i = 0; i < 3; i++) {
+            article = blogService.save(new AddArticleRequest("title " + i, "content " + i));
+        }
+    }
+
+    /*
+    새 글의 id는 시퀀스에서 50개씩 미리 받아 두므로(allocationSize), 받아 둔 id를 다 쓴 요청에서만 시퀀스 조회가 한 번 더해진다.
+    글과 본문(article_content)이 id를 따로 받아 두므로 시퀀스 조회는 최대 2건.
+     */
+    @DisplayName("POST /api/articles: 본문 insert 1건 + 글 insert 1건 (+ 시퀀스 조회 0~2건)")
+    @Test
+    public void addArticle() throws Exception {
+        int statements = statements(post("/api/articles")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new AddArticleRequest("title", "content"))));
+
+        assertThat(statements).isBetween(2, 4);
+    }
+
+    @DisplayName("POST /api/articles/batch: 글 수와 상관없이 본문, 글 배치 insert 각 1건 (+ 시퀀스 조회 0~2건)")
+    @Test
+    public void addArticles() throws Exception {
+        List<AddArticleRequest> requests = List.of(
+                new AddArticleRequest("title 1", "content 1"),
+                new AddArticleRequest("title 2", "content 2"),
+                new AddArticleRequest("title 3", "content 3"));
+
+        int statements = statements(post("/api/articles/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)));
+
+        assertThat(statements).isBetween(2, 4);
+    }
+
+    @DisplayName("GET /api/articles: 목록 프로젝션 1건 (커서 유무와 상관없이)")
+    @Test
+    public void findAllArticles() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/articles").param("size", "1")).andReturn();
+        String nextCursor = first.getResponse().getHeader(BlogApiController.NEXT_CURSOR_HEADER);
+
+        assertThat(stats(first).getStatements()).isEqualTo(1);
+        assertThat(statements(get("/api/articles").param("cursor", nextCursor))).isEqualTo(1);
+    }
+
+    // 내보내기는 응답을 비동기 스레드에서 쓰므로 요청 스레드에서는 SQL이 실행되지 않는다. (비동기 스레드의 SQL은 집계 대상 아님)
+    @DisplayName("GET /api/articles/export: 요청 스레드에서 0건")
+    @Test
+    public void exportArticles() throws Exception {
+        assertThat(statements(get("/api/articles/export"))).isZero();
+    }
+
+    @DisplayName("GET /api/articles/search: 검색 색인만 조회하므로 0건")
+    @Test
+    public void searchArticles() throws Exception {
+        assertThat(statements(get("/api/articles/search").param("q", "title"))).isZero();
+    }
+
+    @DisplayName("GET /api/articles/{id}: 버전 1건 + 본문 1건, 캐시 적중이나 304면 버전 1건")
+    @Test
+    public void findArticle() throws Exception {
+        String url = "/api/articles/" + article.getId();
+
+        MvcResult first = mockMvc.perform(get(url)).andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(stats(first).getStatements()).isEqualTo(2);
+        assertThat(statements(get(url))).isEqualTo(1);
+        assertThat(statements(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))).isEqualTo(1);
+    }
+
+    @DisplayName("DELETE /api/articles/{id}: 본문 id select 1건 + 글, 본문 delete 각 1건")
+    @Test
+    public void deleteArticle() throws Exception {
+        assertThat(statements(delete("/api/articles/" + article.getId()))).isEqualTo(3);
+    }
+
+    @DisplayName("PUT /api/articles/{id}: 글과 본문 select 1건 + 글, 본문 update 각 1건")
+    @Test
+    public void updateArticle() throws Exception {
+        int statements = statements(put("/api/articles/" + article.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateArticleRequest("new title", "new content"))));
+
+        assertThat(statements).isEqualTo(3);
+    }
+
+    @DisplayName("debug-header: 기준을 넘은 응답에만 SQL 수와 시간 헤더를 붙인다.")
+    @Test
+    public void debugHeader() throws Exception {
+        MvcResult over = mockMvc.perform(put("/api/articles/" + article.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateArticleRequest("new title", "new content")))).andReturn();
+        MvcResult within = mockMvc.perform(get("/api/articles")).andReturn();
+
+        assertThat(over.getResponse().getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isEqualTo("3");
+        assertThat(over.getResponse().getHeader(QueryCountFilter.QUERY_TIME_HEADER)).isNotNull();
+        assertThat(within.getResponse().getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isNull();
+    }
+
+    @DisplayName("PATCH /api/articles/{id}: 제목만 바꾸면 select 1건 + 글 update 1건, 바뀐 값이 없으면 select 1건")
+    @Test
+    public void patchArticle() throws Exception {
+        String url = "/api/articles/" + article.getId();
+        String body = objectMapper.writeValueAsString(new PatchArticleRequest("new title", null));
+
+        assertThat(statements(patch(url).contentType(MediaType.APPLICATION_JSON).content(body))).isEqualTo(2);
+        assertThat(statements(patch(url).contentType(MediaType.APPLICATION_JSON).content(body))).isEqualTo(1);
+    }
+
+    @DisplayName("GET /articles: 목록 프로젝션 1건, 렌더링 캐시 적중이면 0건")
+    @Test
+    public void getArticles() throws Exception {
+        assertThat(statements(get("/articles"))).isEqualTo(1);
+        assertThat(statements(get("/articles"))).isZero();
+    }
+
+    @DisplayName("GET /articles/{id}: 버전 1건 + 본문 1건, 렌더링 캐시 적중이면 버전 1건")
+    @Test
+    public void getArticle() throws Exception {
+        String url = "/articles/" + article.getId();
+
+        assertThat(statements(get(url))).isEqualTo(2);
+        assertThat(statements(get(url))).isEqualTo(1);
+    }
+
+    @DisplayName("GET /new-article: 새 글은 0건, 수정 화면은 본문 1건")
+    @Test
+    public void newArticle() throws Exception {
+        assertThat(statements(get("/new-article"))).isZero();
+        assertThat(statements(get("/new-article").param("id", String.valueOf(article.getId())))).isEqualTo(1);
+    }
+
+    private int statements(RequestBuilder request) throws Exception {
+        return stats(mockMvc.perform(request).andReturn()).getStatements();
+    }
+
+    private RequestQueryStats stats(MvcResult result) {
+        return (RequestQueryStats) result.getRequest().getAttribute(RequestQueryStats.ATTRIBUTE);
+    }
+}
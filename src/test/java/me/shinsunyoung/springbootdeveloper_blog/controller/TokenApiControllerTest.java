@@ -0,0 +1,108 @@
+package me.shinsunyoung.springbootdeveloper_blog.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import me.shinsunyoung.springbootdeveloper_blog.config.TokenLoginSuccessHandler;
+import me.shinsunyoung.springbootdeveloper_blog.domain.User;
+import me.shinsunyoung.springbootdeveloper_blog.dto.CreateAccessTokenRequest;
+import me.shinsunyoung.springbootdeveloper_blog.repository.RefreshTokenRepository;
+import me.shinsunyoung.springbootdeveloper_blog.repository.UserRepository;
+import me.shinsunyoung.springbootdeveloper_blog.service.RefreshTokenService;
+import me.shinsunyoung.springbootdeveloper_blog.service.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class TokenApiControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @BeforeEach
+    public void setMockMvc() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("createNewAccessToken: 저장된 리프레시 토큰으로 새 액세스 토큰을 발급한다. DB에는 원문 대신 다이제스트가 저장된다.")
+    @Test
+    public void createNewAccessToken() throws Exception {
+        final String url = "/api/token";
+        User testUser = userRepository.save(User.builder().email("user@gmail.com").password("test").build());
+        String refreshToken = refreshTokenService.issue(testUser);
+
+        CreateAccessTokenRequest request = new CreateAccessTokenRequest();
+        request.setRefreshToken(refreshToken);
+
+        mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.accessToken").isNotEmpty());
+
+        String storedHash = refreshTokenRepository.findByUserId(testUser.getId()).get().getTokenHash();
+        assertThat(storedHash).hasSize(64).isNotEqualTo(refreshToken);
+    }
+
+    @DisplayName("createNewAccessToken: 본문 없이 리프레시 토큰 쿠키만으로 새 액세스 토큰을 발급한다.")
+    @Test
+    public void createNewAccessTokenFromCookie() throws Exception {
+        User testUser = userRepository.save(User.builder().email("user@gmail.com").password("test").build());
+        String refreshToken = refreshTokenService.issue(testUser);
+
+        mockMvc.perform(post("/api/token")
+                        .cookie(new Cookie(TokenLoginSuccessHandler.REFRESH_TOKEN_COOKIE, refreshToken)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.accessToken").isNotEmpty());
+
+        // 쿠키도 본문도 없으면 401
+        mockMvc.perform(post("/api/token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @DisplayName("createNewAccessToken: 변조된 토큰, 액세스 토큰, 교체되어 저장되어 있지 않은 리프레시 토큰은 401로 거절한다.")
+    @Test
+    public void createNewAccessTokenWithInvalidToken() throws Exception {
+        User testUser = userRepository.save(User.builder().email("user@gmail.com").password("test").build());
+        String replaced = refreshTokenService.issue(testUser);
+        refreshTokenService.issue(testUser); // 사용자당 하나만 유지하므로 이전 토큰은 더 이상 저장되어 있지 않다.
+
+        for (String token : new String[]{"invalid token", tokenService.createAccessToken(testUser), replaced}) {
+            CreateAccessTokenRequest request = new CreateAccessTokenRequest();
+            request.setRefreshToken(token);
+
+            mockMvc.perform(post("/api/token").contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package me.shinsunyoung.springbootdeveloper_blog.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedStringConverterTest {
+
+    private final CompressedStringConverter converter = new CompressedStringConverter();
+
+    @DisplayName("threshold보다 짧은 값은 압축하지 않고 표시 바이트만 붙여 저장한다.")
+    @Test
+    void shortValueIsStoredRaw() {
+        String value = "짧은 본문";
+
+        byte[] stored = converter.convertToDatabaseColumn(value);
+
+        assertThat(stored[0]).isEqualTo(CompressedStringConverter.RAW);
+        assertThat(stored).hasSize(value.getBytes(UTF_8).length + 1);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(value);
+    }
+
+    @DisplayName("threshold 이상인 반복이 많은 값은 압축해 저장하고, 읽으면 원래 값이 된다.")
+    @Test
+    void longValueIsCompressed() {
+        String value = "## 제목\n- 목록 항목 `code`\n본문 문단입니다.\n".repeat(500);
+
+        byte[] stored = converter.convertToDatabaseColumn(value);
+
+        assertThat(stored[0]).isEqualTo(CompressedStringConverter.DEFLATE);
+        assertThat(stored.length).isLessThan(value.getBytes(UTF_8).length / 10);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(value);
+    }
+
+    @DisplayName("압축해도 줄지 않는 값은 압축하지 않고 저장한다.")
+    @Test
+    void incompressibleValueIsStoredRaw() {
+        String value = "abcdefghijklmnopqrstuvwxyz"; // 반복이 없어 압축 헤더만큼 오히려 커진다.
+
+        byte[] stored = new CompressedStringConverter(16).convertToDatabaseColumn(value);
+
+        assertThat(stored[0]).isEqualTo(CompressedStringConverter.RAW);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(value);
+    }
+
+    @DisplayName("표시 바이트가 없는 기존 값(UTF-8 텍스트)도 그대로 읽는다.")
+    @Test
+    void legacyValueIsReadAsText() {
+        assertThat(converter.convertToEntityAttribute("압축 전에 저장된 본문".getBytes(UTF_8))).isEqualTo("압축 전에 저장된 본문");
+        assertThat(converter.convertToEntityAttribute(new byte[0])).isEmpty();
+    }
+
+    @DisplayName("빈 문자열과 null은 그대로 오간다.")
+    @Test
+    void emptyAndNull() {
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(""))).isEmpty();
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @DisplayName("압축 데이터가 잘려 있으면 예외가 발생한다.")
+    @Test
+    void truncatedValue() {
+        byte[] stored = converter.convertToDatabaseColumn("반복되는 본문 ".repeat(1000));
+        byte[] truncated = Arrays.copyOf(stored, stored.length / 2);
+
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(truncated))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
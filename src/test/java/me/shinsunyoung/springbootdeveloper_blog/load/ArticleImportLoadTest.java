@@ -0,0 +1,75 @@
+package me.shinsunyoung.springbootdeveloper_blog.load;
+
+import me.shinsunyoung.springbootdeveloper_blog.dto.AddArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.repository.BlogRepository;
+import me.shinsunyoung.springbootdeveloper_blog.service.BlogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+글 등록 처리량(rows/sec) 비교. ./gradlew loadTest 로 실행.
+- 단건: BlogService.save를 글마다 호출. (글마다 트랜잭션 하나, insert 왕복 하나)
+- 일괄: BlogService.saveAll 한 번. (트랜잭션 하나, hibernate.jdbc.batch_size건씩 묶은 배치 insert)
+H2 인메모리 DB는 왕복 비용이 거의 없으므로, 네트워크 너머의 실제 DB를 쓸 때보다 차이가 작게 나온다.
+ */
+@Tag("load")
+@SpringBootTest
+class ArticleImportLoadTest {
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @BeforeEach
+    public void setUp() {
+        blogRepository.deleteAll();
+    }
+
+    @DisplayName("단건 등록과 일괄 등록의 초당 등록 건수를 비교한다.")
+    @Test
+    public void compareSingleAndBatchInsert() {
+        List<AddArticleRequest> requests = requests(ROWS);
+
+        long start = System.nanoTime();
+        requests.forEach(blogService::save);
+        double single = rowsPerSecond(ROWS, System.nanoTime() - start);
+
+        blogRepository.deleteAll();
+
+        start = System.nanoTime();
+        for (int from = 0; from < ROWS; from += BlogService.MAX_BATCH_SIZE) {
+            blogService.saveAll(requests.subList(from, Math.min(from + BlogService.MAX_BATCH_SIZE, ROWS)));
+        }
+        double batch = rowsPerSecond(ROWS, System.nanoTime() - start);
+
+        System.out.printf("[single] %.0f rows/sec%n", single);
+        System.out.printf("[batch ] %.0f rows/sec (x%.1f)%n", batch, batch / single);
+
+        assertThat(blogRepository.count()).isEqualTo(ROWS);
+    }
+
+    private List<AddArticleRequest> requests(int count) {
+        List<AddArticleRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(new AddArticleRequest("title " + i, "content " + i));
+        }
+        return requests;
+    }
+
+    private double rowsPerSecond(int rows, long elapsedNanos) {
+        return rows / (elapsedNanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,212 @@
+package me.shinsunyoung.springbootdeveloper_blog.load;
+
+import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
+import me.shinsunyoung.springbootdeveloper_blog.dto.AddArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.dto.PatchArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.repository.BlogRepository;
+import me.shinsunyoung.springbootdeveloper_blog.service.BlogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+긴 글을 수정할 때 수정 한 번에 DB로 보내는 바인딩 값의 바이트 수. ./gradlew loadTest 로 실행.
+- 전체 행: 글을 등록할 때의 insert. 모든 컬럼을 쓰므로, 고정된 update 문(@DynamicUpdate 이전)이 매번 보내던 양과 같다.
+- 제목만: PATCH로 제목만 수정. update 문에는 title, updated_at, version만 들어간다.
+- 본문: PATCH로 본문을 수정. 본문 크기만큼 보낸다.
+- 변경 없음: 같은 값으로 PATCH. update 문 자체가 실행되지 않는다.
+DataSource를 JDBC 프록시로 감싸 PreparedStatement의 set* 호출 값 크기를 센다. (문자열은 UTF-8 바이트, 바이트 배열은 길이, 그 외는 8바이트로 계산)
+본문은 압축되어 저장되므로(CompressedStringConverter) 압축이 거의 되지 않는 무작위 본문으로 잰다.
+ */
+@Tag("load")
+@SpringBootTest(properties = "search.rebuild-on-startup=false")
+@Import(ArticleUpdateBytesLoadTest.BindBytesConfig.class)
+class ArticleUpdateBytesLoadTest {
+
+    private static final int CONTENT_LENGTH = 200_000;
+    private static final int EDITS = 50;
+    private static final String INSERT = "insert into article";
+    private static final String UPDATE = "update article";
+
+    private static final BindBytesCounter COUNTER = new BindBytesCounter();
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @BeforeEach
+    public void setUp() {
+        blogRepository.deleteAll();
+    }
+
+    @DisplayName("긴 글에서 제목만 수정하면 본문을 다시 보내지 않고, 바뀐 것이 없으면 update 문을 실행하지 않는다.")
+    @Test
+    public void bytesWrittenPerEdit() {
+        String content = randomText(CONTENT_LENGTH);
+
+        COUNTER.reset();
+        Article article = blogService.save(new AddArticleRequest("title", content));
+        long fullRow = COUNTER.bytes(INSERT);
+
+        COUNTER.reset();
+        for (int i = 0; i < EDITS; i++) {
+            blogService.patch(article.getId(), new PatchArticleRequest("title " + i, null), null);
+        }
+        long titleOnly = COUNTER.bytes(UPDATE) / EDITS;
+        long titleOnlyStatements = COUNTER.statements(UPDATE);
+
+        COUNTER.reset();
+        for (int i = 0; i < EDITS; i++) {
+            blogService.patch(article.getId(), new PatchArticleRequest(null, content + i), null);
+        }
+        long contentEdit = COUNTER.bytes(UPDATE) / EDITS;
+
+        COUNTER.reset();
+        for (int i = 0; i < EDITS; i++) {
+            blogService.patch(article.getId(), new PatchArticleRequest("title " + (EDITS - 1), content + (EDITS - 1)), null);
+        }
+        long unchangedStatements = COUNTER.statements(UPDATE);
+
+        System.out.printf("[full row   ] %,d bytes%n", fullRow);
+        System.out.printf("[title only ] %,d bytes/edit%n", titleOnly);
+        System.out.printf("[content    ] %,d bytes/edit%n", contentEdit);
+        System.out.printf("[unchanged  ] %d update statements for %d edits%n", unchangedStatements, EDITS);
+
+        assertThat(titleOnlyStatements).isEqualTo(EDITS);
+        assertThat(titleOnly).isLessThan(fullRow / 100);
+        assertThat(unchangedStatements).isZero();
+    }
+
+    // 무작위 한글 음절. 본문 압축(CompressedStringConverter)으로 크기가 거의 줄지 않도록 반복 없는 글을 쓴다.
+    private String randomText(int length) {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(i % 10 == 9 ? ' ' : (char) ('가' + random.nextInt('힣' - '가' + 1)));
+        }
+        return text.toString();
+    }
+
+    // SQL 문(앞부분)별 실행 횟수와 바인딩 값 바이트 수
+    static class BindBytesCounter {
+
+        private final Map<String, AtomicLong> bytes = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> statements = new ConcurrentHashMap<>();
+
+        void reset() {
+            bytes.clear();
+            statements.clear();
+        }
+
+        long bytes(String sqlPrefix) {
+            return sum(bytes, sqlPrefix);
+        }
+
+        long statements(String sqlPrefix) {
+            return sum(statements, sqlPrefix);
+        }
+
+        private long sum(Map<String, AtomicLong> values, String sqlPrefix) {
+            return values.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(sqlPrefix))
+                    .mapToLong(entry -> entry.getValue().get())
+                    .sum();
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return proxy(dataSource, new Class<?>[]{DataSource.class, AutoCloseable.class}, (name, args, result) ->
+                    result instanceof Connection connection ? wrap(connection) : result);
+        }
+
+        private Connection wrap(Connection connection) {
+            return proxy(connection, new Class<?>[]{Connection.class}, (name, args, result) -> {
+                if (name.equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    String sql = ((String) args[0]).trim().toLowerCase();
+                    statements.computeIfAbsent(sql, key -> new AtomicLong()).incrementAndGet();
+                    return wrap(statement, bytes.computeIfAbsent(sql, key -> new AtomicLong()));
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement wrap(PreparedStatement statement, AtomicLong counter) {
+            return proxy(statement, new Class<?>[]{PreparedStatement.class}, (name, args, result) -> {
+                // setString(index, value), setLong(index, value), setObject(index, value, type) ... / setNull은 0바이트
+                if (name.startsWith("set") && !name.equals("setNull") && args != null && args.length >= 2
+                        && args[0] instanceof Integer) {
+                    counter.addAndGet(sizeOf(args[1]));
+                }
+                return result;
+            });
+        }
+
+        private long sizeOf(Object value) {
+            if (value == null) {
+                return 0;
+            }
+            if (value instanceof String string) {
+                return string.getBytes(StandardCharsets.UTF_8).length;
+            }
+            if (value instanceof byte[] array) {
+                return array.length;
+            }
+            return Long.BYTES;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(T target, Class<?>[] interfaces, ResultMapper mapper) {
+            return (T) Proxy.newProxyInstance(ArticleUpdateBytesLoadTest.class.getClassLoader(), interfaces,
+                    (proxy, method, args) -> {
+                        Object result;
+                        try {
+                            result = method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                        return mapper.map(method.getName(), args, result);
+                    });
+        }
+
+        @FunctionalInterface
+        private interface ResultMapper {
+            Object map(String methodName, Object[] args, Object result);
+        }
+    }
+
+    @TestConfiguration
+    static class BindBytesConfig {
+
+        // 애플리케이션의 DataSource(커넥션 풀)를 감싸 JPA가 보내는 모든 문장을 센다.
+        @Bean
+        static BeanPostProcessor bindBytesDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? COUNTER.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package me.shinsunyoung.springbootdeveloper_blog.load;
+
+import me.shinsunyoung.springbootdeveloper_blog.dto.AddUserRequest;
+import me.shinsunyoung.springbootdeveloper_blog.repository.RefreshTokenRepository;
+import me.shinsunyoung.springbootdeveloper_blog.repository.UserRepository;
+import me.shinsunyoung.springbootdeveloper_blog.service.TokenService;
+import me.shinsunyoung.springbootdeveloper_blog.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/*
+보안 필터 체인별 요청 한 건의 힙 할당량과 평균 지연 시간 비교. ./gradlew loadTest 로 실행.
+- 세션: 폼 로그인 세션으로 인증하는 화면용 체인(filterChain). 요청마다 세션에서 SecurityContext를 읽고 요청 캐시 등을 거친다.
+- 토큰: /api/** 전용 체인(apiFilterChain). Authorization 헤더의 액세스 토큰만 보고 세션은 만들지도 읽지도 않는다.
+두 체인 뒤에는 아무 일도 하지 않는 같은 컨트롤러(PingController)를 두어 보안 처리 비용만 비교한다.
+MockMvc는 요청을 호출한 스레드에서 바로 처리하므로, 현재 스레드의 누적 할당량 차이로 요청당 할당량을 잰다. (HotSpot 전용)
+ */
+@Tag("load")
+@SpringBootTest
+class SecurityChainLoadTest {
+
+    private static final int WARMUP = 5_000;
+    private static final int REQUESTS = 20_000;
+    private static final String EMAIL = "load@email.com";
+    private static final String PASSWORD = "load-test";
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @BeforeEach
+    public void setUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("세션 인증 체인과 토큰(STATELESS) 체인의 요청당 할당량과 지연 시간을 비교한다.")
+    @Test
+    public void compareSessionAndTokenChains() throws Exception {
+        AddUserRequest user = new AddUserRequest();
+        user.setEmail(EMAIL);
+        user.setPassword(PASSWORD);
+        Long userId = userService.save(user);
+
+        MockHttpSession session = (MockHttpSession) mockMvc.perform(formLogin("/login").user(EMAIL).password(PASSWORD))
+                .andReturn().getRequest().getSession(false);
+        String accessToken = tokenService.createAccessToken(userService.findById(userId));
+
+        RequestBuilder sessionRequest = get(PingController.SESSION_PATH).session(session);
+        RequestBuilder tokenRequest = get(PingController.API_PATH)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+
+        Measurement sessionChain = measure(sessionRequest);
+        Measurement tokenChain = measure(tokenRequest);
+
+        System.out.println(sessionChain.format("session"));
+        System.out.println(tokenChain.format("token  "));
+        System.out.printf("saved: %d bytes/request, %.1f us/request%n",
+                sessionChain.bytesPerRequest - tokenChain.bytesPerRequest,
+                sessionChain.microsPerRequest - tokenChain.microsPerRequest);
+
+        assertThat(mockMvc.perform(tokenRequest).andReturn().getRequest().getSession(false)).isNull();
+    }
+
+    private Measurement measure(RequestBuilder request) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            assertOk(request);
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            assertOk(request);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        return new Measurement(allocated / REQUESTS, elapsedNanos / 1_000.0 / REQUESTS);
+    }
+
+    private void assertOk(RequestBuilder request) throws Exception {
+        int status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+        if (status != 200) {
+            throw new IllegalStateException("unexpected status: " + status);
+        }
+    }
+
+    private long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static class Measurement {
+
+        private final long bytesPerRequest;
+        private final double microsPerRequest;
+
+        private Measurement(long bytesPerRequest, double microsPerRequest) {
+            this.bytesPerRequest = bytesPerRequest;
+            this.microsPerRequest = microsPerRequest;
+        }
+
+        String format(String chain) {
+            return String.format("[%s] %d bytes/request, %.1f us/request", chain, bytesPerRequest, microsPerRequest);
+        }
+    }
+
+    @TestConfiguration
+    @Import(PingController.class)
+    static class PingConfig {
+    }
+
+    // 보안 체인 비용만 재기 위한 빈 응답 컨트롤러. 같은 처리를 두 체인 아래 경로에 둔다.
+    @RestController
+    static class PingController {
+
+        static final String SESSION_PATH = "/load/ping";
+        static final String API_PATH = "/api/load/ping";
+
+        @GetMapping({SESSION_PATH, API_PATH})
+        public String ping() {
+            return "pong";
+        }
+    }
+}
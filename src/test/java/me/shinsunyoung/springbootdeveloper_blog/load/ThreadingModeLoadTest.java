@@ -0,0 +1,157 @@
+package me.shinsunyoung.springbootdeveloper_blog.load;
+
+import me.shinsunyoung.springbootdeveloper_blog.SpringBootDeveloperBlogApplication;
+import me.shinsunyoung.springbootdeveloper_blog.dto.AddUserRequest;
+import me.shinsunyoung.springbootdeveloper_blog.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+플랫폼 스레드(기본)와 가상 스레드 모드의 처리량, p99 지연 시간 비교. ./gradlew loadTest 로 실행. (JDK 21 이상)
+같은 설정으로 애플리케이션을 스레드 모드만 바꿔 두 번 띄우고, 동시 사용자 CONCURRENCY명이 각자 로그인한 세션으로 /articles를 반복 요청한다.
+톰캣 최대 스레드를 TOMCAT_MAX_THREADS로 낮춰 두어, 플랫폼 스레드 풀이 CPU보다 먼저 포화되는 상황을 재현한다.
+H2 인메모리 DB는 I/O 대기가 거의 없으므로, 네트워크 너머의 실제 DB를 쓸 때보다 두 모드의 차이가 작게 나온다.
+ */
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class ThreadingModeLoadTest {
+
+    private static final int CONCURRENCY = 400;
+    private static final int REQUESTS_PER_USER = 50;
+    private static final int TOMCAT_MAX_THREADS = 50;
+    private static final String EMAIL = "load@email.com";
+    private static final String PASSWORD = "load-test";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    @DisplayName("플랫폼 스레드 / 가상 스레드 모드의 처리량과 p99 지연 시간을 비교한다.")
+    @Test
+    void compareThreadingModes() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        System.out.println(platform.format("platform"));
+        System.out.println(virtual.format("virtual "));
+
+        assertThat(platform.failures).isZero();
+        assertThat(virtual.failures).isZero();
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootDeveloperBlogApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        // 측정 대상은 글 목록이므로, 처음에 몰리는 로그인이 해시 대기열 초과로 거절되지 않게 한다.
+                        "password-hashing.queue-capacity=" + CONCURRENCY)
+                .run()) {
+            AddUserRequest user = new AddUserRequest();
+            user.setEmail(EMAIL);
+            user.setPassword(PASSWORD);
+            context.getBean(UserService.class).save(user);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+
+            ExecutorService users = Executors.newFixedThreadPool(CONCURRENCY);
+            try {
+                List<Future<long[]>> futures = new ArrayList<>();
+                long start = System.nanoTime();
+                for (int i = 0; i < CONCURRENCY; i++) {
+                    futures.add(users.submit(() -> runUser(baseUrl)));
+                }
+
+                List<long[]> latencies = new ArrayList<>();
+                for (Future<long[]> future : futures) {
+                    latencies.add(future.get());
+                }
+                return LoadResult.of(latencies, System.nanoTime() - start);
+            } finally {
+                users.shutdownNow();
+            }
+        }
+    }
+
+    // 사용자 한 명: 로그인 후 /articles를 REQUESTS_PER_USER번 요청. 실패한 요청의 지연 시간은 -1로 기록.
+    private long[] runUser(String baseUrl) throws Exception {
+        String sessionCookie = login(baseUrl);
+        long[] latencies = new long[REQUESTS_PER_USER];
+        for (int i = 0; i < REQUESTS_PER_USER; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/articles"))
+                    .header("Cookie", sessionCookie)
+                    .GET()
+                    .build();
+            long begin = System.nanoTime();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies[i] = response.statusCode() == 200 ? System.nanoTime() - begin : -1;
+        }
+        return latencies;
+    }
+
+    // 폼 로그인 후 응답의 세션 쿠키("JSESSIONID=...")를 반환.
+    private String login(String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=" + EMAIL + "&password=" + PASSWORD))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        String setCookie = response.headers().firstValue("Set-Cookie")
+                .orElseThrow(() -> new IllegalStateException("login failed: " + response.statusCode()));
+        return setCookie.substring(0, setCookie.indexOf(';'));
+    }
+
+    private static class LoadResult {
+
+        private final long requests;
+        private final long failures;
+        private final double throughput; // 초당 성공 요청 수
+        private final double p99Millis;
+
+        private LoadResult(long requests, long failures, double throughput, double p99Millis) {
+            this.requests = requests;
+            this.failures = failures;
+            this.throughput = throughput;
+            this.p99Millis = p99Millis;
+        }
+
+        static LoadResult of(List<long[]> latenciesPerUser, long elapsedNanos) {
+            long[] succeeded = latenciesPerUser.stream()
+                    .flatMapToLong(Arrays::stream)
+                    .filter(latency -> latency >= 0)
+                    .sorted()
+                    .toArray();
+            long requests = latenciesPerUser.stream().mapToLong(latencies -> latencies.length).sum();
+            double p99 = succeeded.length == 0 ? 0 : succeeded[(int) Math.ceil(succeeded.length * 0.99) - 1] / 1_000_000.0;
+            double throughput = succeeded.length / (elapsedNanos / 1_000_000_000.0);
+            return new LoadResult(requests, requests - succeeded.length, throughput, p99);
+        }
+
+        String format(String mode) {
+            return String.format("[%s] requests=%d, failures=%d, throughput=%.1f req/s, p99=%.2f ms",
+                    mode, requests, failures, throughput, p99Millis);
+        }
+    }
+}
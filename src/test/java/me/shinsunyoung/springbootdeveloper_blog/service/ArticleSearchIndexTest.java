@@ -0,0 +1,65 @@
+package me.shinsunyoung.springbootdeveloper_blog.service;
+
+import me.shinsunyoung.springbootdeveloper_blog.dto.AddArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.repository.BlogRepository;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+디스크에 저장하는 색인(search.index-path)으로 commit 전/후에 디스크에 남은 문서 수를 확인한다.
+디스크의 색인은 새 DirectoryReader로 읽는다. (비정상 종료 후 다시 열었을 때 보이는 상태)
+ */
+@SpringBootTest(properties = {
+        "search.index-path=" + ArticleSearchIndexTest.INDEX_PATH,
+        "search.rebuild-on-startup=false"
+})
+class ArticleSearchIndexTest {
+
+    static final String INDEX_PATH = "build/test-search-index";
+
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @BeforeEach
+    public void setUp() {
+        blogRepository.deleteAll();
+        articleSearchIndex.rebuild(); // 비운 색인을 commit한다.
+    }
+
+    @DisplayName("commit: 검색에는 바로 반영된 변경을 주기적인 commit 때 디스크에 남긴다.")
+    @Test
+    public void commit() throws IOException {
+        blogService.save(new AddArticleRequest("검색 제목", "본문"));
+
+        assertThat(articleSearchIndex.search("검색", 0, 10).getContent()).hasSize(1);
+        assertThat(committedDocs()).isZero();
+
+        articleSearchIndex.commit();
+
+        assertThat(committedDocs()).isEqualTo(1);
+    }
+
+    private int committedDocs() throws IOException {
+        try (Directory directory = FSDirectory.open(Path.of(INDEX_PATH));
+             DirectoryReader reader = DirectoryReader.open(directory)) {
+            return reader.numDocs();
+        }
+    }
+}
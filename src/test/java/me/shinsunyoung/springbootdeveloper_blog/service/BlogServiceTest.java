@@ -0,0 +1,254 @@
+package me.shinsunyoung.springbootdeveloper_blog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import me.shinsunyoung.springbootdeveloper_blog.config.CacheConfig;
+import me.shinsunyoung.springbootdeveloper_blog.domain.Article;
+import me.shinsunyoung.springbootdeveloper_blog.domain.ArticleContent;
+import me.shinsunyoung.springbootdeveloper_blog.dto.AddArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.dto.ArticleDetailResponse;
+import me.shinsunyoung.springbootdeveloper_blog.dto.PatchArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.dto.UpdateArticleRequest;
+import me.shinsunyoung.springbootdeveloper_blog.repository.BlogRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BlogServiceTest {
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache<Object, Object> articleCache;
+
+    @BeforeEach
+    public void setUp() {
+        blogRepository.deleteAll();
+        articleCache = ((CaffeineCache) cacheManager.getCache(CacheConfig.ARTICLES)).getNativeCache();
+        articleCache.invalidateAll();
+    }
+
+    @DisplayName("findById: 두 번째 조회부터는 캐시된 스냅샷을 반환한다.")
+    @Test
+    public void findByIdIsCached() {
+        Article savedArticle = blogRepository.save(Article.builder().title("title").content("content").build());
+        long hitsBefore = articleCache.stats().hitCount();
+
+        ArticleDetailResponse first = blogService.findById(savedArticle.getId());
+        ArticleDetailResponse second = blogService.findById(savedArticle.getId());
+
+        assertThat(second).isSameAs(first);
+        assertThat(articleCache.stats().hitCount() - hitsBefore).isEqualTo(1);
+    }
+
+    @DisplayName("update: 수정하면 캐시가 비워져 다음 조회에서 수정된 내용이 보인다.")
+    @Test
+    public void updateEvictsCache() {
+        Article savedArticle = blogRepository.save(Article.builder().title("title").content("content").build());
+        blogService.findById(savedArticle.getId());
+
+        blogService.update(savedArticle.getId(), new UpdateArticleRequest("new title", "new content"), null);
+
+        ArticleDetailResponse found = blogService.findById(savedArticle.getId());
+        assertThat(found.getTitle()).isEqualTo("new title");
+        assertThat(found.getContent()).isEqualTo("new content");
+    }
+
+    @DisplayName("delete: 삭제하면 캐시가 비워져 더 이상 조회되지 않는다.")
+    @Test
+    public void deleteEvictsCache() {
+        Article savedArticle = blogRepository.save(Article.builder().title("title").content("content").build());
+        blogService.findById(savedArticle.getId());
+
+        blogService.delete(savedArticle.getId());
+
+        assertThatThrownBy(() -> blogService.findById(savedArticle.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("목록, 존재 확인, 버전 조회는 본문을 읽지 않고, 상세 조회는 쿼리 한 번으로 본문까지 읽는다.")
+    @Test
+    public void contentIsReadOnlyByDetail() {
+        String content = "본문 ".repeat(500);
+        Article savedArticle = blogService.save(new AddArticleRequest("title", content));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled(); // 지표(hibernate.*)용으로 켜져 있으면 끄지 않고 되돌린다.
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            assertThat(blogService.findArticlePage(null, null).getContent().get(0).getContent())
+                    .isEqualTo(content.substring(0, Article.EXCERPT_LENGTH));
+            blogService.findListViewPage(null, null);
+            blogService.findVersion(savedArticle.getId());
+            assertThat(blogRepository.existsById(savedArticle.getId())).isTrue();
+            assertThat(statistics.getEntityStatistics(ArticleContent.class.getName()).getLoadCount()).isZero();
+
+            statistics.clear();
+            assertThat(blogService.findById(savedArticle.getId()).getContent()).isEqualTo(content);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(statistics.getEntityStatistics(ArticleContent.class.getName()).getLoadCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    @DisplayName("patch: 본문만 바꿔도 글의 버전과 본문 해시가 바뀐다.")
+    @Test
+    public void patchContentBumpsVersion() {
+        Article savedArticle = blogService.save(new AddArticleRequest("title", "content"));
+
+        blogService.patch(savedArticle.getId(), new PatchArticleRequest(null, "new content"), savedArticle.getVersion());
+
+        Article patched = blogRepository.findById(savedArticle.getId()).orElseThrow();
+        assertThat(patched.getContent()).isEqualTo("new content");
+        assertThat(patched.getExcerpt()).isEqualTo("new content");
+        assertThat(patched.getVersion()).isEqualTo(savedArticle.getVersion() + 1);
+        assertThat(patched.getContentHash()).isNotEqualTo(savedArticle.getContentHash()).hasSize(64);
+    }
+
+    @DisplayName("findById: 캐시에 없는 같은 글을 동시에 조회해도 SELECT는 한 번만 실행된다.")
+    @Test
+    public void concurrentFindByIdLoadsOnce() throws Exception {
+        Article savedArticle = blogRepository.save(Article.builder().title("title").content("content").build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled(); // 지표(hibernate.*)용으로 켜져 있으면 끄지 않고 되돌린다.
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        int threadCount = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1); // 모든 스레드가 동시에 출발하도록 대기
+        try {
+            List<Future<ArticleDetailResponse>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return blogService.findById(savedArticle.getId());
+                }));
+            }
+            start.countDown();
+
+            for (Future<ArticleDetailResponse> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS).getTitle()).isEqualTo("title");
+            }
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    @DisplayName("update: 같은 버전을 읽은 편집자들이 동시에 수정하면 한 명만 성공하고 나머지는 낙관적 락 예외로 실패한다.")
+    @Test
+    public void concurrentUpdateWithSameVersion() throws Exception {
+        Article savedArticle = blogRepository.save(Article.builder().title("title").content("content").build());
+        Long readVersion = blogService.findById(savedArticle.getId()).getVersion();
+
+        int threadCount = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                String content = "content " + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        blogService.update(savedArticle.getId(), new UpdateArticleRequest("title", content), readVersion);
+                        return true;
+                    } catch (ObjectOptimisticLockingFailureException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                succeeded += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertThat(succeeded).isEqualTo(1);
+            assertThat(blogRepository.findById(savedArticle.getId()).orElseThrow().getVersion()).isEqualTo(readVersion + 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /*
+    편집자마다 "읽기 -> 수정 -> 충돌이면 다시 읽기"를 반복해 본문의 숫자를 1씩 올린다.
+    수정이 하나라도 덮어써졌다면(lost update) 최종 값이 전체 수정 횟수보다 작아진다.
+    읽을 때 행 잠금을 잡지 않으므로 편집자끼리는 잠금을 기다리지 않고, 충돌한 쪽만 다시 시도한다.
+     */
+    @DisplayName("update: 여러 편집자가 동시에 수정을 반복해도 잃어버리는 수정이 없다.")
+    @Test
+    public void concurrentUpdatesLoseNothing() throws Exception {
+        Article savedArticle = blogRepository.save(Article.builder().title("counter").content("0").build());
+        long id = savedArticle.getId();
+
+        int threadCount = 8;
+        int updatesPerThread = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int conflicts = 0;
+                    for (int n = 0; n < updatesPerThread; ) {
+                        ArticleDetailResponse article = blogService.findById(id);
+                        String next = String.valueOf(Integer.parseInt(article.getContent()) + 1);
+                        try {
+                            blogService.update(id, new UpdateArticleRequest("counter", next), article.getVersion());
+                            n++;
+                        } catch (ObjectOptimisticLockingFailureException e) {
+                            conflicts++;
+                        }
+                    }
+                    return conflicts;
+                }));
+            }
+            start.countDown();
+
+            int conflicts = 0;
+            for (Future<Integer> result : results) {
+                conflicts += result.get(60, TimeUnit.SECONDS);
+            }
+            System.out.printf("[optimistic] %d updates, %d conflicts retried%n", threadCount * updatesPerThread, conflicts);
+
+            Article updated = blogRepository.findById(id).orElseThrow();
+            assertThat(updated.getContent()).isEqualTo(String.valueOf(threadCount * updatesPerThread));
+            assertThat(updated.getVersion()).isEqualTo(savedArticle.getVersion() + threadCount * updatesPerThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
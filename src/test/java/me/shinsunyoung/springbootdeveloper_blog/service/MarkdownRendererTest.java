@@ -0,0 +1,77 @@
+package me.shinsunyoung.springbootdeveloper_blog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import me.shinsunyoung.springbootdeveloper_blog.config.CacheConfig;
+import me.shinsunyoung.springbootdeveloper_blog.domain.ArticleContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class MarkdownRendererTest {
+
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> htmlCache;
+
+    @BeforeEach
+    public void setUp() {
+        htmlCache = ((CaffeineCache) cacheManager.getCache(CacheConfig.RENDERED_MARKDOWN)).getNativeCache();
+        htmlCache.invalidateAll();
+    }
+
+    @DisplayName("render: 마크다운을 HTML로 변환한다.")
+    @Test
+    public void render() {
+        String html = render("# 제목\n\n**굵게** 쓴 [링크](https://example.com)");
+
+        assertThat(html).contains("<h1>제목</h1>");
+        assertThat(html).contains("<strong>굵게</strong>");
+        assertThat(html).contains("<a rel=\"nofollow\" href=\"https://example.com\">링크</a>");
+    }
+
+    @DisplayName("render: 본문에 직접 쓴 HTML은 이스케이프하고, javascript: 주소는 링크에서 제거한다.")
+    @Test
+    public void renderSanitizes() {
+        String html = render("<script>alert(1)</script>\n\n<img src=x onerror=alert(1)> [눌러](javascript:alert(1))");
+
+        assertThat(html).doesNotContain("<script>", "<img", "javascript:");
+        assertThat(html).contains("&lt;script&gt;alert(1)&lt;/script&gt;");
+        assertThat(html).contains("&lt;img src=x onerror=alert(1)&gt;");
+        assertThat(html).contains(">눌러</a>");
+    }
+
+    @DisplayName("render: 같은 본문은 한 번만 변환하고, 본문이 바뀌면 새로 변환한다.")
+    @Test
+    public void renderIsCachedByContentHash() {
+        String first = render("**본문**");
+        long missesBefore = htmlCache.stats().missCount();
+        long hitsBefore = htmlCache.stats().hitCount();
+
+        String second = render("**본문**");
+
+        assertThat(second).isSameAs(first);
+        assertThat(htmlCache.stats().hitCount() - hitsBefore).isEqualTo(1);
+        assertThat(htmlCache.stats().missCount() - missesBefore).isZero();
+
+        String edited = render("**수정한 본문**");
+
+        assertThat(edited).contains("<strong>수정한 본문</strong>");
+        assertThat(htmlCache.stats().missCount() - missesBefore).isEqualTo(1);
+        assertThat(htmlCache.estimatedSize()).isEqualTo(2);
+    }
+
+    private String render(String markdown) {
+        return markdownRenderer.render(ArticleContent.hash(markdown), markdown);
+    }
+}
@@ -0,0 +1,68 @@
+package me.shinsunyoung.springbootdeveloper_blog.service;
+
+import me.shinsunyoung.springbootdeveloper_blog.domain.RefreshToken;
+import me.shinsunyoung.springbootdeveloper_blog.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @BeforeEach
+    public void setUp() {
+        refreshTokenRepository.deleteAll();
+    }
+
+    @DisplayName("deleteExpired: 만료된 토큰만 배치 크기 단위로 모두 지운다.")
+    @Test
+    public void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int expiredCount = RefreshTokenService.SWEEP_BATCH_SIZE * 2 + 1; // 배치 세 번
+        List<RefreshToken> tokens = new ArrayList<>();
+        for (long userId = 1; userId <= expiredCount; userId++) {
+            tokens.add(new RefreshToken(userId, String.format("%064d", userId), now.minusMinutes(1)));
+        }
+        RefreshToken alive = new RefreshToken(0L, String.format("%064d", 0), now.plusDays(1));
+        tokens.add(alive);
+        refreshTokenRepository.saveAll(tokens);
+
+        int deleted = refreshTokenService.deleteExpired();
+
+        assertThat(deleted).isEqualTo(expiredCount);
+        assertThat(refreshTokenRepository.findAll())
+                .extracting(RefreshToken::getUserId)
+                .containsExactly(0L);
+    }
+
+    @DisplayName("deleteExpired: 만료 토큰을 조회한 뒤 새 토큰으로 갱신된 행은 지우지 않는다.")
+    @Test
+    public void deleteExpiredKeepsReissuedToken() {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken token = refreshTokenRepository.save(new RefreshToken(1L, String.format("%064d", 1), now.minusMinutes(1)));
+        List<Long> expiredIds = refreshTokenRepository.findExpiredIds(now, PageRequest.ofSize(RefreshTokenService.SWEEP_BATCH_SIZE));
+
+        // 조회와 삭제 사이에 같은 사용자가 다시 로그인 (RefreshTokenService.issue)
+        refreshTokenRepository.save(token.update(String.format("%064d", 2), now.plusDays(14)));
+        int deleted = refreshTokenRepository.deleteExpiredByIds(expiredIds, now);
+
+        assertThat(expiredIds).containsExactly(token.getId());
+        assertThat(deleted).isZero();
+        assertThat(refreshTokenRepository.findByUserId(1L)).isPresent();
+    }
+}
@@ -0,0 +1,48 @@
+package me.shinsunyoung.springbootdeveloper_blog.service;
+
+import me.shinsunyoung.springbootdeveloper_blog.domain.User;
+import me.shinsunyoung.springbootdeveloper_blog.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UserDetailServiceTest {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("updatePassword: 약한 강도로 저장된 비밀번호는 로그인에 성공하면 설정된 강도로 다시 저장된다.")
+    @Test
+    public void rehashOnLogin() {
+        String weakHash = new BCryptPasswordEncoder(4).encode("password");
+        userRepository.save(User.builder().email("user@email.com").password(weakHash).build());
+        assertThat(passwordEncoder.upgradeEncoding(weakHash)).isTrue();
+
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("user@email.com", "password"));
+
+        String storedHash = userRepository.findByEmail("user@email.com").get().getPassword();
+        assertThat(storedHash).isNotEqualTo(weakHash);
+        assertThat(passwordEncoder.upgradeEncoding(storedHash)).isFalse();
+        assertThat(passwordEncoder.matches("password", storedHash)).isTrue();
+    }
+}